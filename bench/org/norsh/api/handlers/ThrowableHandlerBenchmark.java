@@ -0,0 +1,91 @@
+package org.norsh.api.handlers;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.norsh.api.exceptions.ServiceUnavailableException;
+import org.norsh.exceptions.OperationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ApiThrowableHandler#buildResponse} for the common error shapes.
+ * <ul>
+ * <li>{@code missingBody}: the parser failure raised when a request has no body.</li>
+ * <li>{@code operation}: a domain failure whose message is returned to the client.</li>
+ * <li>{@code rejected}: a load-shedding rejection.</li>
+ * <li>{@code unexpected}: an unexpected failure, whose stack trace is handed to the rate-limited logger.</li>
+ * </ul>
+ * Standard error is discarded while the benchmark runs so that any stack trace printing does not flood the console.
+ *
+ * <pre>
+ * mvn -Pbenchmark package exec:exec -Djmh.args="ThrowableHandlerBenchmark -prof gc"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThrowableHandlerBenchmark {
+	private final ApiThrowableHandler handler = new ApiThrowableHandler();
+
+	private PrintStream stderr;
+	private Exception missingBody;
+	private Exception operation;
+	private Exception rejected;
+	private Exception unexpected;
+
+	@Setup
+	public void setup() {
+		stderr = System.err;
+		System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+
+		missingBody = new IllegalArgumentException("Argument \"content\" is null");
+		operation = new OperationException("Insufficient balance.");
+		rejected = new ServiceUnavailableException(1, "Upstream is saturated.");
+		unexpected = new IllegalStateException("Unexpected state.");
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.setErr(stderr);
+	}
+
+	@Benchmark
+	public Object missingBody() {
+		return handler.buildResponse(missingBody);
+	}
+
+	@Benchmark
+	public Object operation() {
+		return handler.buildResponse(operation);
+	}
+
+	@Benchmark
+	public Object rejected() {
+		return handler.buildResponse(rejected);
+	}
+
+	@Benchmark
+	public Object unexpected() {
+		return handler.buildResponse(unexpected);
+	}
+}
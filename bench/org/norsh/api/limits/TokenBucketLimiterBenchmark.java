@@ -0,0 +1,77 @@
+package org.norsh.api.limits;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TokenBucketLimiter#tryAcquire} with every available core hitting the same limiter.
+ * <ul>
+ * <li>{@code keys = 1}: all threads contend on one bucket, the worst case for its compare-and-set.</li>
+ * <li>{@code keys = 1024}: a typical set of active clients.</li>
+ * <li>{@code keys = 1000000}: far more keys than buckets, so slots are constantly reused or overflow.</li>
+ * </ul>
+ * With {@code rate = high} every request is allowed; with {@code low} nearly all are refused. {@code baseline} only
+ * picks the key, to subtract from the other results.
+ *
+ * <pre>
+ * mvn -Pbenchmark package exec:exec -Djmh.args="TokenBucketLimiterBenchmark"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class TokenBucketLimiterBenchmark {
+	@Param({ "1", "1024", "1000000" })
+	private int keys;
+
+	@Param({ "high", "low" })
+	private String rate;
+
+	private String[] names;
+	private TokenBucketLimiter limiter;
+
+	@Setup
+	public void setup() {
+		names = new String[keys];
+		for (int i = 0; i < keys; i++) {
+			names[i] = "10.0." + (i >>> 8 & 0xff) + "." + (i & 0xff) + "#" + i;
+		}
+		limiter = rate.equals("high") ? new TokenBucketLimiter("bench", 1e9, 1_000_000, 65_536) : new TokenBucketLimiter("bench", 1, 1, 65_536);
+	}
+
+	private String next() {
+		return names[keys == 1 ? 0 : ThreadLocalRandom.current().nextInt(keys)];
+	}
+
+	@Benchmark
+	public String baseline() {
+		return next();
+	}
+
+	@Benchmark
+	public long tryAcquire() {
+		return limiter.tryAcquire(next());
+	}
+}
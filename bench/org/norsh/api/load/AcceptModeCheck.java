@@ -0,0 +1,113 @@
+package org.norsh.api.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.norsh.api.NorshApiServer;
+import org.norsh.api.stub.StubBlockchainServer;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Checks that a write sent with {@code Prefer: respond-async} is answered with HTTP 202 before the blockchain answers.
+ * <p>
+ * Starts a slow {@link StubBlockchainServer} and the {@link NorshApiServer} in-process, with the configuration in
+ * {@code NORSH_API_CONFIG} (by default {@code transfer.mode} is {@code sync}). It posts one write, requires the HTTP
+ * 202 to arrive in under half the stub latency, then polls the {@code Location} of the request until it leaves the
+ * {@code PENDING} state, which must take at least the stub latency. Exits with status 1 if either does not hold.
+ * </p>
+ *
+ * <h2>Options ({@code key=value}):</h2>
+ * <pre>
+ * stub.latencyMs=2000       path=/v1/elements/token    bodies=bench/samples/element-create.json
+ * </pre>
+ *
+ * <h2>Usage:</h2>
+ * <pre>
+ * mvn -Pbenchmark package exec:exec@accept-check -Dcheck.args="stub.latencyMs=2000"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class AcceptModeCheck {
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(10)).build();
+
+	/**
+	 * Runs the check.
+	 *
+	 * @return {@code null} if it passed, otherwise the reason it failed.
+	 */
+	String run(Map<String, String> options) throws Exception {
+		long latencyMs = Long.parseLong(options.getOrDefault("stub.latencyMs", "2000"));
+		String path = options.getOrDefault("path", "/v1/elements/token");
+		String body = LoadTest.readBodies(options.getOrDefault("bodies", "bench/samples/element-create.json")).getFirst();
+		URI base = LoadTest.startServers("SUCCESS", latencyMs, 0);
+
+		HttpRequest write = HttpRequest.newBuilder(base.resolve(path)).header("Content-Type", "application/json").header("Prefer", "respond-async")
+				.POST(BodyPublishers.ofString(body)).build();
+		long sent = System.nanoTime();
+		HttpResponse<String> accepted = client.send(write, BodyHandlers.ofString());
+		long acceptedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+		System.out.printf("Write answered with HTTP %d after %d ms (stub latency %d ms).%n", accepted.statusCode(), acceptedMs, latencyMs);
+
+		if (accepted.statusCode() != 202) {
+			return "expected HTTP 202, got " + accepted.statusCode() + ": " + accepted.body();
+		}
+		if (acceptedMs * 2 >= latencyMs) {
+			return "HTTP 202 took " + acceptedMs + " ms, so it waited for the blockchain";
+		}
+
+		String location = accepted.headers().firstValue("Location").orElse(null);
+		if (location == null) {
+			return "HTTP 202 without a Location header";
+		}
+
+		long deadline = sent + TimeUnit.MILLISECONDS.toNanos(latencyMs * 5 + 5_000);
+		while (System.nanoTime() < deadline) {
+			HttpResponse<String> status = client.send(HttpRequest.newBuilder(base.resolve(location)).GET().build(), BodyHandlers.ofString());
+			if (status.statusCode() != 200) {
+				return "GET " + location + " answered HTTP " + status.statusCode() + ": " + status.body();
+			}
+			JsonObject json = JsonParser.parseString(status.body()).getAsJsonObject();
+			String state = json.get("state").getAsString();
+			if (!"PENDING".equals(state)) {
+				long settledMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+				System.out.printf("Request left PENDING as %s after %d ms: %s%n", state, settledMs, status.body());
+				return settledMs < latencyMs ? "request settled after " + settledMs + " ms, before the stub could answer" : null;
+			}
+			Thread.sleep(20);
+		}
+		return "request still PENDING after " + TimeUnit.NANOSECONDS.toMillis(deadline - sent) + " ms";
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			int eq = arg.indexOf('=');
+			if (eq < 0) {
+				throw new IllegalArgumentException("Expected key=value, got: " + arg);
+			}
+			options.put(arg.substring(0, eq), arg.substring(eq + 1));
+		}
+
+		String failure = new AcceptModeCheck().run(options);
+		if (failure != null) {
+			System.out.println("FAILED: " + failure);
+			System.exit(1);
+		}
+		System.out.println("PASSED");
+		System.exit(0);
+	}
+}
@@ -0,0 +1,294 @@
+package org.norsh.api.load;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.norsh.api.NorshApiServer;
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.metrics.Histogram;
+import org.norsh.api.stub.StubBlockchainServer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * End-to-end load test of the API against a local stand-in for the blockchain service.
+ * <p>
+ * Starts a {@link StubBlockchainServer} on the port of {@code transfer.url} and the {@link NorshApiServer} in-process,
+ * then drives the element and payment routes and reports throughput and latency percentiles per route.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Closed loop: a fixed number of clients, each sending its next request once the previous one is answered.</li>
+ * <li>Open loop: requests are issued at a fixed rate regardless of response times. Latency is measured from the
+ * scheduled send time, so queueing inside the API is not hidden (no coordinated omission).</li>
+ * <li>Configurable stub latency, error rate and {@code DataTransfer} statuses.</li>
+ * <li>Write bodies are cycled from files holding a JSON object, a JSON array or NDJSON. Bodies sharing a hash are
+ * answered from the idempotency cache after the first one, so capture enough distinct signed requests for the run.</li>
+ * <li>Element reads use random ids, so every read misses the element cache and reaches the stub.</li>
+ * <li>Setting {@code target} drives an already running API instead, without starting the server or the stub.</li>
+ * </ul>
+ *
+ * <h2>Options ({@code key=value}):</h2>
+ * <pre>
+ * mode=closed|open          concurrency=64            rate=1000 (requests/s, open loop)
+ * durationSeconds=30        warmupSeconds=5           routes=elements.get,elements.token,payments.generate
+ * stub.latencyMs=20         stub.errorRate=0.0        stub.statuses=SUCCESS
+ * elementBodies=bench/samples/element-create.json     paymentBodies=bench/samples/payment-create.json
+ * target=http://host:port
+ * </pre>
+ * Statuses are reported as HTTP status counts; {@code -1} counts requests that failed without a response.
+ *
+ * <h2>Usage:</h2>
+ * <pre>
+ * mvn -Pbenchmark package exec:exec@load -Dload.args="mode=open rate=5000 stub.latencyMs=50"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class LoadTest {
+	private static final int API_PORT = 9090;
+
+	/**
+	 * A route driven by the load generator, with the latency and status counts measured for it.
+	 */
+	private record Route(String name, String method, String path, List<String> bodies, AtomicLong cursor, Histogram latency, Map<Integer, LongAdder> statuses, LongAdder failures) {
+		Route(String name, String method, String path, List<String> bodies) {
+			this(name, method, path, bodies, new AtomicLong(), new Histogram(), new ConcurrentHashMap<>(), new LongAdder());
+		}
+
+		HttpRequest newRequest(URI base) {
+			if (bodies == null) {
+				byte[] id = new byte[32];
+				ThreadLocalRandom.current().nextBytes(id);
+				return HttpRequest.newBuilder(base.resolve(path + HexFormat.of().formatHex(id))).GET().build();
+			}
+			String body = bodies.get((int) (cursor.getAndIncrement() % bodies.size()));
+			return HttpRequest.newBuilder(base.resolve(path)).header("Content-Type", "application/json").method(method, BodyPublishers.ofString(body)).build();
+		}
+	}
+
+	private final Map<String, String> options;
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(Executors.newVirtualThreadPerTaskExecutor()).connectTimeout(Duration.ofSeconds(10)).build();
+	private final List<Route> routes = new ArrayList<>();
+	private final LongAdder inFlight = new LongAdder();
+
+	private volatile boolean recording;
+
+	public LoadTest(Map<String, String> options) throws IOException {
+		this.options = options;
+
+		for (String name : option("routes", "elements.get,elements.token,payments.generate").split(",")) {
+			routes.add(switch (name.strip()) {
+				case "elements.get" -> new Route(name, "GET", "/v1/elements/", null);
+				case "elements.token" -> new Route(name, "POST", "/v1/elements/token", readBodies(option("elementBodies", "bench/samples/element-create.json")));
+				case "elements.proxy" -> new Route(name, "POST", "/v1/elements/proxy", readBodies(option("elementBodies", "bench/samples/element-create.json")));
+				case "payments.generate" -> new Route(name, "POST", "/v1/payments/generate", readBodies(option("paymentBodies", "bench/samples/payment-create.json")));
+				default -> throw new IllegalArgumentException("Unknown route: " + name);
+			});
+		}
+	}
+
+	private String option(String key, String defaultValue) {
+		return options.getOrDefault(key, defaultValue);
+	}
+
+	/**
+	 * Reads request bodies from a file holding a JSON object, a JSON array of objects, or NDJSON.
+	 */
+	static List<String> readBodies(String file) throws IOException {
+		String content = Files.readString(Path.of(file));
+		List<String> bodies = new ArrayList<>();
+		try {
+			JsonElement json = JsonParser.parseString(content);
+			if (json.isJsonArray()) {
+				json.getAsJsonArray().forEach(item -> bodies.add(item.toString()));
+			} else {
+				bodies.add(json.toString());
+			}
+		} catch (JsonSyntaxException e) {
+			content.lines().filter(line -> !line.isBlank()).forEach(bodies::add);
+		}
+		return bodies;
+	}
+
+	/**
+	 * Starts the stub and the API server, returning once the API accepts connections.
+	 */
+	static URI startServers(String statuses, long latencyMs, double errorRate) throws Exception {
+		URI upstream = URI.create(ApiConfig.getInstance().getString("transfer.url", "http://localhost:4545/v1/blockchain"));
+		StubBlockchainServer stub = new StubBlockchainServer(upstream.getPort(), statuses, latencyMs, errorRate);
+		stub.start();
+
+		Thread.ofPlatform().name("norsh-api").daemon().start(() -> NorshApiServer.main(new String[0]));
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (true) {
+			try (Socket socket = new Socket()) {
+				socket.connect(new InetSocketAddress("127.0.0.1", API_PORT), 1000);
+				return URI.create("http://127.0.0.1:" + API_PORT);
+			} catch (IOException e) {
+				if (System.nanoTime() > deadline) {
+					throw new IOException("API server did not start on port " + API_PORT, e);
+				}
+				Thread.sleep(100);
+			}
+		}
+	}
+
+	public void run() throws Exception {
+		URI base = options.containsKey("target") ? URI.create(options.get("target"))
+				: startServers(option("stub.statuses", "SUCCESS"), Long.parseLong(option("stub.latencyMs", "20")), Double.parseDouble(option("stub.errorRate", "0")));
+		long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("warmupSeconds", "5")));
+		long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("durationSeconds", "30")));
+		boolean open = option("mode", "closed").equalsIgnoreCase("open");
+
+		System.out.printf("Driving %s in %s loop for %ds after %ds of warm-up.%n", base, open ? "open" : "closed", TimeUnit.NANOSECONDS.toSeconds(durationNanos), TimeUnit.NANOSECONDS.toSeconds(warmupNanos));
+
+		long start = System.nanoTime();
+		long measureFrom = start + warmupNanos;
+		long end = measureFrom + durationNanos;
+
+		Thread recorder = Thread.ofPlatform().daemon().start(() -> {
+			LockSupport.parkNanos(measureFrom - System.nanoTime());
+			recording = true;
+		});
+
+		if (open) {
+			runOpen(base, Long.parseLong(option("rate", "1000")), start, end);
+		} else {
+			runClosed(base, Integer.parseInt(option("concurrency", "64")), end);
+		}
+		recording = false;
+		recorder.join();
+
+		long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (inFlight.sum() > 0 && System.nanoTime() < drainDeadline) {
+			Thread.sleep(10);
+		}
+
+		report(durationNanos);
+	}
+
+	private void runClosed(URI base, int concurrency, long end) throws InterruptedException {
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int c = 0; c < concurrency; c++) {
+				int offset = c;
+				clients.execute(() -> {
+					for (long i = offset; System.nanoTime() < end; i++) {
+						Route route = routes.get((int) (i % routes.size()));
+						long sent = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(route.newRequest(base), BodyHandlers.discarding());
+							record(route, sent, response.statusCode());
+						} catch (IOException e) {
+							record(route, sent, -1);
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+				});
+			}
+		}
+	}
+
+	private void runOpen(URI base, long rate, long start, long end) {
+		long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+		for (long i = 0;; i++) {
+			long scheduled = start + i * interval;
+			if (scheduled >= end) {
+				return;
+			}
+			long wait = scheduled - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+
+			Route route = routes.get((int) (i % routes.size()));
+			inFlight.increment();
+			client.sendAsync(route.newRequest(base), BodyHandlers.discarding()).whenComplete((response, failure) -> {
+				record(route, scheduled, failure == null ? response.statusCode() : -1);
+				inFlight.decrement();
+			});
+		}
+	}
+
+	private void record(Route route, long sent, int status) {
+		if (!recording) {
+			return;
+		}
+		route.latency().record(System.nanoTime() - sent);
+		if (status < 0) {
+			route.failures().increment();
+		} else {
+			route.statuses().computeIfAbsent(status, s -> new LongAdder()).increment();
+		}
+	}
+
+	private void report(long durationNanos) {
+		double seconds = durationNanos / 1e9;
+		long totalCount = 0;
+
+		System.out.printf("%n%-20s %10s %10s %10s %10s %10s %10s  %s%n", "route", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses");
+		for (Route route : routes) {
+			Histogram h = route.latency();
+			Map<Integer, Long> statuses = new TreeMap<>();
+			route.statuses().forEach((status, count) -> statuses.put(status, count.sum()));
+			if (route.failures().sum() > 0) {
+				statuses.put(-1, route.failures().sum());
+			}
+
+			System.out.printf("%-20s %10d %10.0f %10.2f %10.2f %10.2f %10.2f  %s%n", route.name(), h.getCount(), h.getCount() / seconds,
+					millis(h.getValueAtQuantile(0.5)), millis(h.getValueAtQuantile(0.99)), millis(h.getValueAtQuantile(0.999)), millis(h.getMax()), statuses);
+			totalCount += h.getCount();
+		}
+		System.out.printf("%-20s %10d %10.0f%n", "total", totalCount, totalCount / seconds);
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			int eq = arg.indexOf('=');
+			if (eq < 0) {
+				throw new IllegalArgumentException("Expected key=value, got: " + arg);
+			}
+			options.put(arg.substring(0, eq), arg.substring(eq + 1));
+		}
+
+		new LoadTest(options).run();
+		System.exit(0);
+	}
+}
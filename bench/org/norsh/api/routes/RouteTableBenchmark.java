@@ -0,0 +1,75 @@
+package org.norsh.api.routes;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.norsh.api.v1.crypto.AddressApiV1;
+import org.norsh.api.v1.crypto.KeysApiV1;
+import org.norsh.api.v1.elements.ElementV1;
+import org.norsh.api.v1.metrics.MetricsV1;
+import org.norsh.api.v1.requests.RequestV1;
+import org.norsh.api.v1.stats.StatsV1;
+import org.norsh.api.v1.transactions.PaymentV1;
+import org.norsh.rest.RestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures building the {@link RouteTable} of the API endpoints and resolving request paths against it.
+ *
+ * <pre>
+ * mvn -Pbenchmark package exec:exec -Djmh.args="RouteTableBenchmark"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteTableBenchmark {
+	private static final List<Class<?>> ENDPOINTS = List.of(AddressApiV1.class, KeysApiV1.class, PaymentV1.class, ElementV1.class, RequestV1.class, StatsV1.class, MetricsV1.class);
+
+	private RouteTable table;
+
+	@Setup
+	public void setup() {
+		table = register();
+	}
+
+	private RouteTable register() {
+		RouteTable routes = new RouteTable();
+		for (Class<?> endpoint : ENDPOINTS) {
+			routes.register(endpoint);
+		}
+		return routes;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public RouteTable registerAll() {
+		return register();
+	}
+
+	@Benchmark
+	public void resolve(Blackhole blackhole) {
+		blackhole.consume(table.resolve(RestMethod.GET, "/v1/elements/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08"));
+		blackhole.consume(table.resolve(RestMethod.POST, "/v1/elements/proxy"));
+		blackhole.consume(table.resolve(RestMethod.GET, "/v1/requests/9f86d081884c7d659a2feaa0c55ad015?wait=1"));
+		blackhole.consume(table.resolve(RestMethod.GET, "/v1/unknown"));
+	}
+}
@@ -0,0 +1,152 @@
+package org.norsh.api.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.norsh.api.transport.BinaryCodec;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the blockchain service behind {@code transfer.url}.
+ * <p>
+ * Accepts single {@code DataTransfer} posts on {@code /v1/blockchain} and batched JSON arrays on
+ * {@code /v1/blockchain/batch}. Every transfer is echoed back with one of the configured statuses, so the forwarding
+ * path can be exercised offline.
+ * Like the load test that drives it, it lives under {@code bench/} and is only compiled by the {@code benchmark}
+ * profile, so it never ships in the API jar.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Statuses are picked uniformly from a comma-separated list; repeat a status to weight it, e.g.
+ * {@code SUCCESS,SUCCESS,SUCCESS,TIMEOUT}.</li>
+ * <li>A fixed latency is added to every exchange, emulating the round trip through the blockchain.</li>
+ * <li>A fraction of exchanges fails with HTTP 500 and no body, emulating an unhealthy upstream.</li>
+ * <li>Transfers posted in the {@link BinaryCodec} encoding are answered in the same encoding.</li>
+ * </ul>
+ *
+ * <h2>Usage:</h2>
+ * <pre>
+ * java org.norsh.api.stub.StubBlockchainServer [port] [statuses] [latencyMs] [errorRate]
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class StubBlockchainServer {
+	private final HttpServer server;
+	private final String[] statuses;
+	private final long latencyMs;
+	private final double errorRate;
+
+	public StubBlockchainServer(int port, String status) throws IOException {
+		this(port, status, 0, 0);
+	}
+
+	/**
+	 * @param port      the port to listen on, or 0 for an ephemeral port.
+	 * @param statuses  comma-separated transfer statuses to answer with.
+	 * @param latencyMs the delay added to every exchange.
+	 * @param errorRate the fraction of exchanges, between 0 and 1, answered with HTTP 500.
+	 */
+	public StubBlockchainServer(int port, String statuses, long latencyMs, double errorRate) throws IOException {
+		this.statuses = statuses.split(",");
+		this.latencyMs = latencyMs;
+		this.errorRate = errorRate;
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+		this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		this.server.createContext("/v1/blockchain", this::handle);
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(0);
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		long start = System.nanoTime();
+		if (!exchange.getRequestMethod().equals("POST")) {
+			// Health probe
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+			return;
+		}
+
+		byte[] body;
+		try (InputStream in = exchange.getRequestBody()) {
+			body = in.readAllBytes();
+		}
+
+		if (latencyMs > 0) {
+			try {
+				Thread.sleep(latencyMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+			exchange.sendResponseHeaders(500, -1);
+			exchange.close();
+			return;
+		}
+
+		boolean binary = BinaryCodec.isBinary(exchange.getRequestHeaders().getFirst("Content-Type"));
+		JsonElement request = binary ? BinaryCodec.decodeTree(body) : JsonParser.parseString(new String(body, StandardCharsets.UTF_8));
+		JsonElement reply;
+		if (request.isJsonArray()) {
+			JsonArray replies = new JsonArray();
+			for (JsonElement item : request.getAsJsonArray()) {
+				replies.add(reply(item));
+			}
+			reply = replies;
+		} else {
+			reply = reply(request);
+		}
+
+		byte[] bytes = binary ? BinaryCodec.encode(reply) : reply.toString().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", binary ? BinaryCodec.CONTENT_TYPE : "application/json");
+		exchange.getResponseHeaders().add("X-Duration", String.valueOf((System.nanoTime() - start) / 1_000_000));
+		exchange.sendResponseHeaders(200, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private JsonObject reply(JsonElement item) {
+		JsonObject transfer = item.isJsonObject() ? item.getAsJsonObject().deepCopy() : new JsonObject();
+		transfer.addProperty("status", statuses[ThreadLocalRandom.current().nextInt(statuses.length)].strip());
+		return transfer;
+	}
+
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 4545;
+		String statuses = args.length > 1 ? args[1] : "SUCCESS";
+		long latencyMs = args.length > 2 ? Long.parseLong(args[2]) : 0;
+		double errorRate = args.length > 3 ? Double.parseDouble(args[3]) : 0;
+
+		StubBlockchainServer stub = new StubBlockchainServer(port, statuses, latencyMs, errorRate);
+		stub.start();
+		System.out.println("Stub blockchain listening on 127.0.0.1:" + stub.getPort());
+	}
+}
@@ -0,0 +1,146 @@
+package org.norsh.api.stub;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.norsh.api.redis.RedisClient;
+
+/**
+ * Local stand-in for Redis, enough to run the API with {@code requests.store} set to {@code redis} offline.
+ * <p>
+ * Speaks RESP2 and keeps string keys in memory, supporting {@code PING}, {@code GET}, {@code SET} (with {@code EX} or
+ * {@code PX}) and {@code DEL}. Expired keys are dropped when read.
+ * Like the load test that drives it, it lives under {@code bench/} and is only compiled by the {@code benchmark}
+ * profile, so it never ships in the API jar.
+ * </p>
+ *
+ * <h2>Usage:</h2>
+ * <pre>
+ * java org.norsh.api.stub.StubRedisServer [port]
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class StubRedisServer {
+	private record Entry(String value, long expiresAt) {
+		boolean isExpired() {
+			return expiresAt > 0 && System.currentTimeMillis() >= expiresAt;
+		}
+	}
+
+	private final ServerSocket server;
+	private final Map<String, Entry> data = new ConcurrentHashMap<>();
+
+	public StubRedisServer(int port) throws IOException {
+		this.server = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+	}
+
+	public void start() {
+		Thread.ofPlatform().name("stub-redis").start(() -> {
+			while (!server.isClosed()) {
+				try {
+					Socket socket = server.accept();
+					Thread.ofVirtual().start(() -> serve(socket));
+				} catch (IOException e) {
+					// Closed by stop()
+				}
+			}
+		});
+	}
+
+	public void stop() throws IOException {
+		server.close();
+	}
+
+	public int getPort() {
+		return server.getLocalPort();
+	}
+
+	private void serve(Socket socket) {
+		try (socket) {
+			InputStream in = new BufferedInputStream(socket.getInputStream());
+			OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+			while (true) {
+				Object request = RedisClient.readReply(in);
+				if (!(request instanceof Object[] items) || items.length == 0) {
+					error(out, "ERR protocol error");
+				} else {
+					String[] command = new String[items.length];
+					for (int i = 0; i < items.length; i++) {
+						command[i] = String.valueOf(items[i]);
+					}
+					execute(command, out);
+				}
+				out.flush();
+			}
+		} catch (EOFException e) {
+			// Client disconnected
+		} catch (IOException e) {
+			// Connection broken
+		}
+	}
+
+	private void execute(String[] command, OutputStream out) throws IOException {
+		switch (command[0].toUpperCase()) {
+			case "PING" -> simple(out, "PONG");
+			case "GET" -> {
+				Entry entry = data.get(command[1]);
+				if (entry != null && entry.isExpired()) {
+					data.remove(command[1], entry);
+					entry = null;
+				}
+				RedisClient.writeBulk(out, entry == null ? null : entry.value());
+			}
+			case "SET" -> {
+				long expiresAt = 0;
+				for (int i = 3; i + 1 < command.length; i += 2) {
+					long amount = Long.parseLong(command[i + 1]);
+					if (command[i].equalsIgnoreCase("PX")) {
+						expiresAt = System.currentTimeMillis() + amount;
+					} else if (command[i].equalsIgnoreCase("EX")) {
+						expiresAt = System.currentTimeMillis() + amount * 1000;
+					}
+				}
+				data.put(command[1], new Entry(command[2], expiresAt));
+				simple(out, "OK");
+			}
+			case "DEL" -> {
+				long removed = 0;
+				for (int i = 1; i < command.length; i++) {
+					removed += data.remove(command[i]) != null ? 1 : 0;
+				}
+				out.write((":" + removed + "\r\n").getBytes(StandardCharsets.US_ASCII));
+			}
+			default -> error(out, "ERR unknown command '" + command[0] + "'");
+		}
+	}
+
+	private static void simple(OutputStream out, String value) throws IOException {
+		out.write(("+" + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void error(OutputStream out, String message) throws IOException {
+		out.write(("-" + message + "\r\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 6379;
+
+		StubRedisServer stub = new StubRedisServer(port);
+		stub.start();
+		System.out.println("Stub Redis listening on 127.0.0.1:" + stub.getPort());
+	}
+}
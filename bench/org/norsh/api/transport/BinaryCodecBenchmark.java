@@ -0,0 +1,89 @@
+package org.norsh.api.transport;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.norsh.model.dtos.elements.ElementCreateDto;
+import org.norsh.model.dtos.transactions.PaymentCreateDto;
+import org.norsh.model.transport.DataTransfer;
+import org.norsh.rest.RestMethod;
+import org.norsh.util.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link BinaryCodec} encoding of a forwarded {@code DataTransfer} with the JSON path, for element and
+ * payment payloads read from {@code bench/samples/}.
+ * <p>
+ * Encoding and decoding times are measured here; the body sizes of both encodings are printed when each trial starts.
+ * Add {@code -prof gc} to compare {@code gc.alloc.rate.norm} as well:
+ * </p>
+ *
+ * <pre>
+ * mvn -Pbenchmark package exec:exec -Djmh.args="BinaryCodecBenchmark -prof gc"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryCodecBenchmark {
+	@Param({ "element", "payment" })
+	private String payload;
+
+	private DataTransfer transfer;
+	private byte[] json;
+	private byte[] binary;
+
+	@Setup
+	public void setup() throws IOException {
+		Object dto = switch (payload) {
+			case "element" -> Converter.fromJson(Files.readString(Path.of("bench/samples/element-create.json")), ElementCreateDto.class);
+			case "payment" -> Converter.fromJson(Files.readString(Path.of("bench/samples/payment-create.json")), PaymentCreateDto.class);
+			default -> throw new IllegalArgumentException(payload);
+		};
+
+		transfer = new DataTransfer("b5bb9d8014a0f9b1d61e21e796d78dccdf1352f23cd32812f4850b878ae4944c", RestMethod.POST, dto);
+		json = JsonBodies.toBytes(transfer);
+		binary = BinaryCodec.encode(transfer);
+		System.out.printf("%n%s transfer: json=%d bytes, binary=%d bytes (%.0f%%)%n", payload, json.length, binary.length, 100.0 * binary.length / json.length);
+	}
+
+	@Benchmark
+	public byte[] encodeJson() {
+		return JsonBodies.toBytes(transfer);
+	}
+
+	@Benchmark
+	public byte[] encodeBinary() {
+		return BinaryCodec.encode(transfer);
+	}
+
+	@Benchmark
+	public DataTransfer decodeJson() {
+		return JsonBodies.read(json, DataTransfer.class);
+	}
+
+	@Benchmark
+	public DataTransfer decodeBinary() {
+		return BinaryCodec.decode(binary, DataTransfer.class);
+	}
+}
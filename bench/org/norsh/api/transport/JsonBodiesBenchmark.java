@@ -0,0 +1,88 @@
+package org.norsh.api.transport;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.norsh.api.transport.JsonBodies.PooledBody;
+import org.norsh.model.transport.DataTransfer;
+import org.norsh.rest.RestMethod;
+import org.norsh.util.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Allocation benchmark of the transfer body pipeline.
+ * <p>
+ * Compares the {@code String}-based path ({@link Converter#toJson} plus {@code BodyPublishers.ofString}, and
+ * {@code BodyHandlers.ofString} plus {@link Converter#fromJson}) with the pooled streaming path of {@link JsonBodies}.
+ * Run with the GC profiler and compare {@code gc.alloc.rate.norm}:
+ * </p>
+ *
+ * <pre>
+ * mvn -Pbenchmark package exec:exec -Djmh.args="JsonBodiesBenchmark -prof gc"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBodiesBenchmark {
+	private DataTransfer transfer;
+	private byte[] encoded;
+
+	@Setup
+	public void setup() {
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("element", "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+		payload.put("from", "2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae");
+		payload.put("to", "fcde2b2edba56bf408601fb721fe9b5c338d10ee429ea04fae5511b68fbf8fb9");
+		payload.put("amount", "125000.00000000");
+		payload.put("publicKey", "MFYwEAYHKoZIzj0CAQYFK4EEAAoDQgAE".repeat(3));
+		payload.put("signature", "MEUCIQDf8J3p9nQ2l4Kx7Z1vB0aR3sT6uW8yX0zC2eG4iK6mOQIgL1nP3rT5vX7zB9dF1hJ3lN5pR7tV9xZ1bD3fH5jL7n0=");
+		payload.put("nonce", 42);
+
+		transfer = new DataTransfer("b5bb9d8014a0f9b1d61e21e796d78dccdf1352f23cd32812f4850b878ae4944c", RestMethod.POST, payload);
+		encoded = Converter.toJson(transfer).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public byte[] serializeString() {
+		return Converter.toJson(transfer).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public long serializePooled() {
+		PooledBody body = JsonBodies.write(transfer);
+		long length = body.length();
+		body.release();
+		return length;
+	}
+
+	@Benchmark
+	public DataTransfer parseString() {
+		return Converter.fromJson(new String(encoded, StandardCharsets.UTF_8), DataTransfer.class);
+	}
+
+	@Benchmark
+	public DataTransfer parseStream() {
+		return JsonBodies.read(new ByteArrayInputStream(encoded), DataTransfer.class);
+	}
+}
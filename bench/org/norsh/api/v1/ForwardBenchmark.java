@@ -0,0 +1,87 @@
+package org.norsh.api.v1;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.stub.StubBlockchainServer;
+import org.norsh.api.transport.TransferReply;
+import org.norsh.rest.RestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the forwarding path behind {@link ApiV1#processRequest} against an in-process
+ * {@link StubBlockchainServer} listening on the port of {@code transfer.url}.
+ * <p>
+ * Every invocation uses a fresh request id, so neither coalescing nor the idempotency cache short-circuits the round
+ * trip. The measured time covers serialization, the guarded HTTP exchange, response parsing and status mapping.
+ * </p>
+ *
+ * <pre>
+ * mvn -Pbenchmark package exec:exec -Djmh.args="ForwardBenchmark"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForwardBenchmark {
+	/**
+	 * A bare controller exposing the forwarding path of {@link ApiV1}.
+	 */
+	static class Endpoint extends ApiV1 {
+	}
+
+	private static final AtomicLong REQUEST_IDS = new AtomicLong();
+
+	@Param({ "POST", "GET" })
+	private RestMethod method;
+
+	private StubBlockchainServer stub;
+	private Endpoint endpoint;
+	private Map<String, Object> payload;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		URI upstream = URI.create(ApiConfig.getInstance().getString("transfer.url", "http://localhost:4545/v1/blockchain"));
+		stub = new StubBlockchainServer(upstream.getPort(), "SUCCESS");
+		stub.start();
+
+		endpoint = new Endpoint();
+		payload = Map.of("symbol", "NSH", "decimals", 8, "initialSupply", "1000000000");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		stub.stop();
+	}
+
+	@Benchmark
+	public int forward() throws Exception {
+		String requestId = Long.toHexString(REQUEST_IDS.incrementAndGet());
+		TransferReply reply = ApiV1.await(endpoint.forward(method, requestId, payload));
+		return ApiV1.statusOf(reply.transfer());
+	}
+}
@@ -0,0 +1,84 @@
+package org.norsh.api.v1;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.norsh.model.dtos.elements.ElementCreateDto;
+import org.norsh.model.dtos.transactions.PaymentCreateDto;
+import org.norsh.util.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures request body parsing plus {@code validate()} for the {@code ElementCreateDto} and {@code PaymentCreateDto}
+ * payloads, the work done by {@link ApiV1#readBody} and {@link ApiV1#validate} before a request is forwarded.
+ * <p>
+ * Bodies are read from {@code bench/samples/}. Replace them with bodies captured from a client to measure a passing
+ * {@code validate()}; a rejected body still measures the full parse and the failing check.
+ * </p>
+ *
+ * <pre>
+ * mvn -Pbenchmark package exec:exec -Djmh.args="RequestBodyBenchmark"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBodyBenchmark {
+	@Param("bench/samples/element-create.json")
+	private String elementSample;
+
+	@Param("bench/samples/payment-create.json")
+	private String paymentSample;
+
+	private String elementBody;
+	private String paymentBody;
+
+	@Setup
+	public void setup() throws IOException {
+		elementBody = Files.readString(Path.of(elementSample));
+		paymentBody = Files.readString(Path.of(paymentSample));
+	}
+
+	@Benchmark
+	public void elementCreate(Blackhole blackhole) {
+		ElementCreateDto dto = Converter.fromJson(elementBody, ElementCreateDto.class);
+		try {
+			dto.validate();
+		} catch (Exception e) {
+			blackhole.consume(e);
+		}
+		blackhole.consume(dto);
+	}
+
+	@Benchmark
+	public void paymentCreate(Blackhole blackhole) {
+		PaymentCreateDto dto = Converter.fromJson(paymentBody, PaymentCreateDto.class);
+		try {
+			dto.validate();
+		} catch (Exception e) {
+			blackhole.consume(e);
+		}
+		blackhole.consume(dto);
+	}
+}
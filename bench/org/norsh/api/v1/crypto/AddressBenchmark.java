@@ -0,0 +1,78 @@
+package org.norsh.api.v1.crypto;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.norsh.security.Cryptography;
+import org.norsh.util.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the address derivation paths of {@link AddressApiV1}.
+ * <ul>
+ * <li>{@code single}: key reconstruction and SHA3 for every call, as before caching.</li>
+ * <li>{@code cached}: repeated lookups of a working set of keys through the address cache.</li>
+ * <li>{@code bulk}: parallel derivation of a batch of distinct keys, as done by {@code /bulk}.</li>
+ * </ul>
+ *
+ * <pre>
+ * mvn -Pbenchmark package exec:exec -Djmh.args="AddressBenchmark"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddressBenchmark {
+	private static final int KEYS = 256;
+
+	private String[] publicKeys;
+	private byte[][] publicKeyBytes;
+	private int next;
+
+	@Setup
+	public void setup() {
+		publicKeys = new String[KEYS];
+		publicKeyBytes = new byte[KEYS][];
+		for (int i = 0; i < KEYS; i++) {
+			publicKeyBytes[i] = new Cryptography().getPublicKeyBytes();
+			publicKeys[i] = Converter.bytesToHex(publicKeyBytes[i]);
+		}
+		Arrays.stream(publicKeys).forEach(AddressApiV1::address);
+	}
+
+	@Benchmark
+	public String single() {
+		int i = next++ & (KEYS - 1);
+		return AddressApiV1.derive(Converter.base64OrHexToBytes(publicKeys[i]));
+	}
+
+	@Benchmark
+	public String cached() {
+		return AddressApiV1.address(publicKeys[next++ & (KEYS - 1)]);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(KEYS)
+	public String[] bulk() {
+		return IntStream.range(0, KEYS).parallel().mapToObj(i -> AddressApiV1.derive(publicKeyBytes[i])).toArray(String[]::new);
+	}
+}
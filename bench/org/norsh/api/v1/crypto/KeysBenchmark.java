@@ -0,0 +1,73 @@
+package org.norsh.api.v1.crypto;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.norsh.api.crypto.KeyPairPool;
+import org.norsh.security.Cryptography;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the work behind {@link KeysApiV1#generate}.
+ * <ul>
+ * <li>{@code inline}: key pair generation plus encoding, as without the pool.</li>
+ * <li>{@code pooled}: taking a pre-generated key pair from the {@link KeyPairPool} plus encoding.</li>
+ * <li>{@code encode}: encoding only, for a fixed key pair.</li>
+ * </ul>
+ * The {@code formats} parameter mirrors the query parameter of the endpoint.
+ *
+ * <pre>
+ * mvn -Pbenchmark package exec:exec -Djmh.args="KeysBenchmark"
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeysBenchmark {
+	@Param({ "base64,hex,pem", "hex" })
+	private String formats;
+
+	private Set<String> selected;
+	private Cryptography cryptography;
+
+	@Setup
+	public void setup() {
+		selected = KeysApiV1.parseFormats(formats);
+		cryptography = new Cryptography();
+		KeyPairPool.getInstance();
+	}
+
+	@Benchmark
+	public Map<String, Map<String, String>> inline() {
+		return KeysApiV1.encode(new Cryptography(), selected);
+	}
+
+	@Benchmark
+	public Map<String, Map<String, String>> pooled() {
+		return KeysApiV1.encode(KeyPairPool.getInstance().take(), selected);
+	}
+
+	@Benchmark
+	public Map<String, Map<String, String>> encode() {
+		return KeysApiV1.encode(cryptography, selected);
+	}
+}
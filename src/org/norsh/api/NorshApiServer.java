@@ -1,13 +1,29 @@
 package org.norsh.api;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
 
+import org.norsh.api.cache.RawBodies;
 import org.norsh.api.config.ApiConfig;
 import org.norsh.api.handlers.ApiThrowableHandler;
+import org.norsh.api.logging.AsyncLog;
+import org.norsh.api.routes.RouteTable;
+import org.norsh.api.crypto.KeyPairPool;
 import org.norsh.api.v1.crypto.AddressApiV1;
+import org.norsh.api.v1.crypto.KeysApiV1;
 import org.norsh.api.v1.elements.ElementV1;
+import org.norsh.api.v1.metrics.MetricsV1;
+import org.norsh.api.v1.requests.RequestV1;
+import org.norsh.api.v1.stats.StatsV1;
 import org.norsh.api.v1.transactions.PaymentV1;
 import org.norsh.rest.HttpServer;
+import org.norsh.util.Converter;
 import org.norsh.util.Log;
 
 /**
@@ -53,7 +69,14 @@ public class NorshApiServer {
 	 * <li>Localization defaults are set via {@link ApiConfig#initializeDefaultLocalization()}.</li>
 	 * <li>Logging is configured dynamically based on application settings.</li>
 	 * <li>Exception handling is centralized using {@link ApiThrowableHandler}.</li>
-	 * <li>REST endpoints are registered for blockchain-related operations.</li>
+	 * <li>REST endpoints are registered for blockchain-related operations, and their routes in the {@link RouteTable}
+	 * that labels per-route metrics.</li>
+	 * <li>Handlers run on virtual threads unless {@code server.virtualThreads} is {@code false}, so a request waiting for
+	 * the blockchain parks instead of holding a platform thread.</li>
+	 * <li>Once listening, the server checks how it writes byte array bodies and HTTP 304 ({@link RawBodies}), which
+	 * cached responses rely on.</li>
+	 * <li>With {@code -Dnorsh.api.exitAfterStartup=true}, the server serves a few warm-up requests and exits, as the
+	 * training run of the AppCDS archive.</li>
 	 * </ul>
 	 *
 	 * @param args Command-line arguments (not required for standard execution).
@@ -61,21 +84,87 @@ public class NorshApiServer {
 	public static void main(String[] args) {
 		ApiConfig.initializeDefaultLocalization();
 
-		Log log = new Log(ApiConfig.getInstance().getLogConfig());
+		Log log = AsyncLog.getInstance().getLog();
 		log.system("Norsh API Server ○ ●●");
 		log.system("Developed by " + String.join(", ", "Danthur Lice") + " and contributors.");
 		log.system(String.format("Copyright © 2024-%s Norsh. All rights reserved", Calendar.getInstance().get(Calendar.YEAR)));
 		log.system(String.format("Server address: %s:%s", ApiConfig.getInstance().getSpringProperties().get("server.host"), ApiConfig.getInstance().getSpringProperties().get("server.port")));
 
+		// Start filling the key pair pool before the first request
+		KeyPairPool.getInstance();
+
 		HttpServer httpServer = new HttpServer();
 		httpServer.setExceptionHandler(new ApiThrowableHandler());
-		httpServer.addEndpoint(AddressApiV1.class);
-		httpServer.addEndpoint(PaymentV1.class);
-		httpServer.addEndpoint(ElementV1.class);
+		for (Class<?> endpoint : List.of(AddressApiV1.class, KeysApiV1.class, PaymentV1.class, ElementV1.class, RequestV1.class, StatsV1.class, MetricsV1.class)) {
+			httpServer.addEndpoint(endpoint);
+			RouteTable.getInstance().register(endpoint);
+		}
 
-		httpServer.start(9090, false);
+		httpServer.start(9090, ApiConfig.getInstance().getBoolean("server.virtualThreads", true));
+		RawBodies.probe(9090);
 
 		log.system("Server started.");
 		log.breakLine();
+
+		// Training run of the AppCDS archive (see the appcds profile)
+		if (Boolean.getBoolean("norsh.api.exitAfterStartup")) {
+			warmUp(9090);
+			System.exit(0);
+		}
+	}
+
+	/**
+	 * Serves a few requests through the local server so the classes of request handling, serialization, key generation
+	 * and error responses are loaded before the AppCDS archive is dumped.
+	 * <p>
+	 * Only routes answered by the API itself are requested; routes forwarding to the blockchain would wait for an
+	 * upstream the training run does not have. Failures are ignored, since a partial warm-up still yields a usable
+	 * archive.
+	 * </p>
+	 *
+	 * @param port the port the server listens on.
+	 */
+	private static void warmUp(int port) {
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+		String base = "http://127.0.0.1:" + port;
+		int served = 0;
+
+		for (int round = 0; round < 3; round++) {
+			String publicKey = null;
+			try {
+				String keys = send(client, HttpRequest.newBuilder(URI.create(base + "/v1/crypto/keys/generate?formats=hex")));
+				publicKey = String.valueOf(((Map<?, ?>) Converter.fromJson(keys, Map.class).get("hex")).get("public"));
+				served++;
+			} catch (Exception e) {
+				// Derive addresses from a malformed key instead
+			}
+
+			List<HttpRequest.Builder> requests = List.of(
+					post(base + "/v1/crypto/address/generate", Converter.toJson(Map.of("publicKey", publicKey == null ? "" : publicKey))),
+					post(base + "/v1/crypto/address/bulk", Converter.toJson(publicKey == null ? List.of("zz") : List.of(publicKey, "zz"))),
+					HttpRequest.newBuilder(URI.create(base + "/v1/crypto/keys/generate?formats=none")),
+					HttpRequest.newBuilder(URI.create(base + "/v1/requests/unknown")),
+					HttpRequest.newBuilder(URI.create(base + "/v1/stats/transfer")),
+					HttpRequest.newBuilder(URI.create(base + "/v1/stats/cache")),
+					HttpRequest.newBuilder(URI.create(base + "/metrics")));
+			for (HttpRequest.Builder request : requests) {
+				try {
+					send(client, request);
+					served++;
+				} catch (Exception e) {
+					// Ignored, see above
+				}
+			}
+		}
+
+		AsyncLog.getInstance().getLog().system(String.format("Warm-up served %s requests.", served));
+	}
+
+	private static HttpRequest.Builder post(String uri, String json) {
+		return HttpRequest.newBuilder(URI.create(uri)).header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json));
+	}
+
+	private static String send(HttpClient client, HttpRequest.Builder request) throws Exception {
+		return client.send(request.timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.ofString()).body();
 	}
 }
@@ -0,0 +1,282 @@
+package org.norsh.api.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.metrics.RequestTimer;
+import org.norsh.rest.RestRequest;
+import org.norsh.rest.RestResponse;
+import org.norsh.util.Converter;
+
+/**
+ * A JSON response body serialized once and served many times, with its strong ETags and compressed forms.
+ * <p>
+ * The ETag is the SHA-256 of the serialized body, so identical data always yields the same tag whatever the element or
+ * the moment it was read. Each content coding is a representation of its own with its own tag: the gzip and deflate
+ * forms add {@code -gz} and {@code -df} inside the quotes. Bodies are deduplicated by hash in a shared cache, so the
+ * compressed forms, computed on first demand, are reused by every identical response.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Answers HTTP 304 without a body when {@code If-None-Match} lists the ETag of the representation that would be
+ * sent (or {@code *}).</li>
+ * <li>Sends the serialized bytes themselves, with a single {@code Content-Type}, so a hit is never serialized again.</li>
+ * <li>Compresses bodies of at least {@code compression.minBytes} with gzip or deflate, following
+ * {@code Accept-Encoding} and its {@code q} values; smaller bodies are sent as they are.</li>
+ * <li>Always sends {@code ETag} and {@code Vary: Accept-Encoding}.</li>
+ * </ul>
+ * <p>
+ * All of this relies on how the server writes byte array bodies and HTTP 304, which {@link RawBodies} checks at
+ * startup. Until it has, or where the check failed, bodies are handed to the server as data, uncompressed, and
+ * conditional requests get the full response.
+ * </p>
+ *
+ * <h2>Configuration ({@code api.json}):</h2>
+ * <ul>
+ * <li>{@code compression.enabled}: whether to send compressed bodies. On by default.</li>
+ * <li>{@code compression.minBytes}: smallest body worth compressing.</li>
+ * <li>{@code compression.level}: deflate level, 1 (fastest) to 9 (smallest).</li>
+ * <li>{@code cache.bodies.maxSize}, {@code cache.bodies.ttlMs}: bodies kept by ETag.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public final class CachedResponse {
+	private static final boolean ENABLED = ApiConfig.getInstance().getBoolean("compression.enabled", true);
+	private static final int MIN_BYTES = ApiConfig.getInstance().getInt("compression.minBytes", 1024);
+	private static final int LEVEL = ApiConfig.getInstance().getInt("compression.level", Deflater.DEFAULT_COMPRESSION);
+	private static final ExpiringCache<String, CachedResponse> bodies = new ExpiringCache<>("bodies",
+			ApiConfig.getInstance().getInt("cache.bodies.maxSize", 10_000),
+			ApiConfig.getInstance().getLong("cache.bodies.ttlMs", 300_000), false);
+
+	private enum Encoding {
+		IDENTITY, GZIP, DEFLATE
+	}
+
+	private final Object data;
+	private final byte[] bytes;
+	private final String hash;
+	private volatile byte[] gzip;
+	private volatile byte[] deflate;
+
+	private CachedResponse(Object data, byte[] bytes, String hash) {
+		this.data = data;
+		this.bytes = bytes;
+		this.hash = hash;
+	}
+
+	/**
+	 * Serializes {@code data} and returns the cached response holding the same body, if any, or a new one.
+	 */
+	public static CachedResponse of(Object data) {
+		String json = Converter.toJson(data);
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		String hash = hashOf(bytes);
+
+		CachedResponse cached = bodies.get(hash);
+		if (cached == null) {
+			cached = new CachedResponse(data, bytes, hash);
+			bodies.put(hash, cached);
+		}
+		return cached;
+	}
+
+	/**
+	 * Returns the ETag of the uncompressed body.
+	 */
+	public String getEtag() {
+		return etagOf(Encoding.IDENTITY);
+	}
+
+	private String etagOf(Encoding encoding) {
+		return switch (encoding) {
+			case GZIP -> "\"" + hash + "-gz\"";
+			case DEFLATE -> "\"" + hash + "-df\"";
+			default -> "\"" + hash + "\"";
+		};
+	}
+
+	/**
+	 * Writes the response: HTTP 304 when the client already holds this body, otherwise the body in the best encoding
+	 * the client accepts. Finishes the request's {@link RequestTimer} with the status and the bytes sent.
+	 */
+	public void write(RestRequest restRequest, RestResponse restResponse) {
+		boolean raw = RawBodies.isSupported();
+		Encoding encoding = !raw || !ENABLED || bytes.length < MIN_BYTES ? Encoding.IDENTITY : negotiate(restRequest.getHeader("Accept-Encoding"));
+		String etag = etagOf(encoding);
+		restResponse.addHeader("ETag", etag);
+		restResponse.addHeader("Vary", "Accept-Encoding");
+
+		if (RawBodies.isNotModifiedSupported() && matches(restRequest.getHeader("If-None-Match"), etag)) {
+			restResponse.setBody(304, null);
+			RequestTimer.finish(restRequest, 304, 0);
+			return;
+		}
+
+		switch (encoding) {
+			case GZIP -> send(restRequest, restResponse, gzip(), "gzip");
+			case DEFLATE -> send(restRequest, restResponse, deflate(), "deflate");
+			default -> {
+				if (raw) {
+					send(restRequest, restResponse, bytes, null);
+				} else {
+					restResponse.setBody(200, data);
+					RequestTimer.finish(restRequest, 200, bytes.length);
+				}
+			}
+		}
+	}
+
+	private static void send(RestRequest restRequest, RestResponse restResponse, byte[] body, String contentEncoding) {
+		if (RawBodies.needsContentType()) {
+			restResponse.addHeader("Content-Type", "application/json");
+		}
+		if (contentEncoding != null) {
+			restResponse.addHeader("Content-Encoding", contentEncoding);
+		}
+		restResponse.setBody(200, body);
+		RequestTimer.finish(restRequest, 200, body.length);
+	}
+
+	private byte[] gzip() {
+		byte[] compressed = gzip;
+		if (compressed == null) {
+			// Concurrent first requests may both compress; either result is the same
+			ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 32);
+			try (GZIPOutputStream stream = new GZIPOutputStream(out, 8192) {
+				{
+					def.setLevel(LEVEL);
+				}
+			}) {
+				stream.write(bytes);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			gzip = compressed = out.toByteArray();
+		}
+		return compressed;
+	}
+
+	private byte[] deflate() {
+		byte[] compressed = deflate;
+		if (compressed == null) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 32);
+			Deflater deflater = new Deflater(LEVEL);
+			try (DeflaterOutputStream stream = new DeflaterOutputStream(out, deflater, 8192)) {
+				stream.write(bytes);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} finally {
+				deflater.end();
+			}
+			deflate = compressed = out.toByteArray();
+		}
+		return compressed;
+	}
+
+	/**
+	 * Computes the hash the ETags of a body are made of: the URL-safe Base64 SHA-256 of its bytes.
+	 */
+	static String hashOf(byte[] bytes) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available.", e);
+		}
+	}
+
+	/**
+	 * Tells whether an {@code If-None-Match} header matches an ETag, using the weak comparison the header calls for.
+	 */
+	static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		int pos = 0;
+		int length = ifNoneMatch.length();
+		while (pos < length) {
+			int end = ifNoneMatch.indexOf(',', pos);
+			if (end < 0) {
+				end = length;
+			}
+			int from = pos;
+			int to = end;
+			while (from < to && ifNoneMatch.charAt(from) == ' ') {
+				from++;
+			}
+			while (to > from && ifNoneMatch.charAt(to - 1) == ' ') {
+				to--;
+			}
+			if (ifNoneMatch.startsWith("W/", from)) {
+				from += 2;
+			}
+			if (to - from == 1 && ifNoneMatch.charAt(from) == '*'
+					|| to - from == etag.length() && ifNoneMatch.regionMatches(from, etag, 0, etag.length())) {
+				return true;
+			}
+			pos = end + 1;
+		}
+		return false;
+	}
+
+	/**
+	 * Picks the encoding of the response from an {@code Accept-Encoding} header: gzip, then deflate, unless refused
+	 * with {@code q=0}.
+	 */
+	private static Encoding negotiate(String acceptEncoding) {
+		if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+			return Encoding.IDENTITY;
+		}
+
+		double gzip = 0;
+		double deflate = 0;
+		double any = 0;
+		for (String part : acceptEncoding.split(",")) {
+			String[] fields = part.split(";");
+			String coding = fields[0].strip().toLowerCase();
+			double q = 1;
+			for (int i = 1; i < fields.length; i++) {
+				String parameter = fields[i].strip();
+				if (parameter.startsWith("q=")) {
+					try {
+						q = Double.parseDouble(parameter.substring(2));
+					} catch (NumberFormatException e) {
+						q = 0;
+					}
+				}
+			}
+			switch (coding) {
+				case "gzip", "x-gzip" -> gzip = q;
+				case "deflate" -> deflate = q;
+				case "*" -> any = q;
+				default -> {
+				}
+			}
+		}
+		if (gzip == 0 && !acceptEncoding.contains("gzip")) {
+			gzip = any;
+		}
+		if (deflate == 0 && !acceptEncoding.contains("deflate")) {
+			deflate = any;
+		}
+
+		if (gzip > 0 && gzip >= deflate) {
+			return Encoding.GZIP;
+		}
+		return deflate > 0 ? Encoding.DEFLATE : Encoding.IDENTITY;
+	}
+}
@@ -0,0 +1,268 @@
+package org.norsh.api.cache;
+
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-process cache with time-to-live eviction.
+ * <p>
+ * The key space is split into independently locked segments, each an access-ordered map holding at most its share of
+ * the total capacity. Readers and writers of different segments never contend, and the least recently used entry of a
+ * segment is evicted when it is full.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Striped locking; the number of segments is a power of two sized from the available processors.</li>
+ * <li>Expired entries are dropped lazily on access and eagerly when a segment needs room.</li>
+ * <li>Optional TinyLFU admission: when a segment is full, a new key only replaces the LRU victim if it has been
+ * requested more often recently, which keeps one-off lookups from flushing popular entries.</li>
+ * <li>Hit, miss, eviction and rejection counters; named caches are listed by {@link #getCaches()}.</li>
+ * <li>Invalidation-safe read-through: {@link #generation(Object)} and {@link #put(Object, Object, long)} keep a value
+ * loaded before an invalidation from being cached after it.</li>
+ * </ul>
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see FrequencySketch
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class ExpiringCache<K, V> {
+	private static final Map<String, ExpiringCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+	private record Entry<V>(V value, long expiresAt) {
+	}
+
+	private final class Segment extends LinkedHashMap<K, Entry<V>> {
+		private static final long serialVersionUID = 1L;
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final int capacity;
+		private long generation;
+
+		private Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+			if (size() > capacity) {
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+
+		private void purgeExpired(long now) {
+			Iterator<Entry<V>> iterator = values().iterator();
+			while (iterator.hasNext()) {
+				if (iterator.next().expiresAt() - now <= 0) {
+					iterator.remove();
+					evictions.increment();
+				}
+			}
+		}
+
+		private K victim() {
+			return keySet().iterator().next();
+		}
+	}
+
+	private final String name;
+	private final int maxSize;
+	private final Segment[] segments;
+	private final int mask;
+	private final long ttlNanos;
+	private final FrequencySketch sketch;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder rejections = new LongAdder();
+
+	/**
+	 * Creates an unnamed cache without admission filtering.
+	 *
+	 * @param maxSize the maximum number of entries across all segments.
+	 * @param ttlMs   the time-to-live of an entry, in milliseconds.
+	 */
+	public ExpiringCache(int maxSize, long ttlMs) {
+		this(null, maxSize, ttlMs, false);
+	}
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param name      the name under which the cache is listed by {@link #getCaches()}, or {@code null}.
+	 * @param maxSize   the maximum number of entries across all segments.
+	 * @param ttlMs     the time-to-live of an entry, in milliseconds.
+	 * @param admission whether new keys must beat the LRU victim's frequency to enter a full segment.
+	 */
+	@SuppressWarnings("unchecked")
+	public ExpiringCache(String name, int maxSize, long ttlMs, boolean admission) {
+		int count = Integer.highestOneBit(Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, maxSize)));
+		this.segments = (Segment[]) Array.newInstance(Segment.class, count);
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment(Math.max(1, maxSize / count));
+		}
+		this.name = name;
+		this.maxSize = maxSize;
+		this.mask = count - 1;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+		this.sketch = admission ? new FrequencySketch(maxSize) : null;
+
+		if (name != null) {
+			caches.put(name, this);
+		}
+	}
+
+	/**
+	 * Returns the named caches created so far.
+	 */
+	public static Map<String, ExpiringCache<?, ?>> getCaches() {
+		return Map.copyOf(caches);
+	}
+
+	private Segment segmentFor(Object key) {
+		int h = key.hashCode();
+		return segments[(h ^ (h >>> 16)) & mask];
+	}
+
+	/**
+	 * Returns the live value mapped to {@code key}, or {@code null} if absent or expired.
+	 */
+	public V get(K key) {
+		if (sketch != null) {
+			sketch.increment(key);
+		}
+
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			Entry<V> entry = segment.get(key);
+			if (entry == null) {
+				misses.increment();
+				return null;
+			}
+			if (entry.expiresAt() - System.nanoTime() <= 0) {
+				segment.remove(key);
+				evictions.increment();
+				misses.increment();
+				return null;
+			}
+			hits.increment();
+			return entry.value();
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	public void put(K key, V value) {
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			store(segment, key, value);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the invalidation generation of the segment holding {@code key}, to be passed to
+	 * {@link #put(Object, Object, long)} by a caller about to load the value.
+	 */
+	public long generation(K key) {
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			return segment.generation;
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * Maps {@code key} to {@code value} unless an invalidation reached its segment since {@code generation} was read,
+	 * in which case the value may predate it and is dropped.
+	 *
+	 * @return whether the value was offered to the cache.
+	 */
+	public boolean put(K key, V value, long generation) {
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			if (segment.generation != generation) {
+				return false;
+			}
+			store(segment, key, value);
+			return true;
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	private void store(Segment segment, K key, V value) {
+		long now = System.nanoTime();
+		if (segment.size() >= segment.capacity && !segment.containsKey(key)) {
+			segment.purgeExpired(now);
+			if (sketch != null && segment.size() >= segment.capacity && sketch.frequency(key) <= sketch.frequency(segment.victim())) {
+				rejections.increment();
+				return;
+			}
+		}
+		segment.put(key, new Entry<>(value, now + ttlNanos));
+	}
+
+	public void invalidate(K key) {
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			segment.generation++;
+			segment.remove(key);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of entries held, including expired entries not yet purged.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			segment.lock.lock();
+			try {
+				size += segment.size();
+			} finally {
+				segment.lock.unlock();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Returns a snapshot of the cache counters.
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("name", name);
+		stats.put("size", size());
+		stats.put("maxSize", maxSize);
+		stats.put("hits", hits.sum());
+		stats.put("misses", misses.sum());
+		stats.put("evictions", evictions.sum());
+		stats.put("rejections", rejections.sum());
+		return stats;
+	}
+}
@@ -0,0 +1,111 @@
+package org.norsh.api.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate access-frequency counter used for cache admission.
+ * <p>
+ * A count-min sketch of 4-bit counters packed sixteen to a {@code long}, as used by TinyLFU. Each key is counted in four
+ * rows and its frequency is the minimum of those counters. After a number of increments proportional to the sketch size
+ * every counter is halved, so the sketch follows recent popularity rather than all-time totals.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class FrequencySketch {
+	private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+	private static final long RESET_MASK = 0x7777777777777777L;
+
+	private final AtomicLongArray table;
+	private final int tableMask;
+	private final int sampleSize;
+	private final LongAdder additions = new LongAdder();
+
+	/**
+	 * Creates a sketch sized for a cache of {@code maximumSize} entries.
+	 */
+	public FrequencySketch(int maximumSize) {
+		int length = Integer.highestOneBit(Math.max(16, maximumSize - 1)) << 1;
+		this.table = new AtomicLongArray(length);
+		this.tableMask = length - 1;
+		this.sampleSize = 10 * Math.max(16, maximumSize);
+	}
+
+	/**
+	 * Returns the estimated number of recent occurrences of {@code key}, from 0 to 15.
+	 */
+	public int frequency(Object key) {
+		int hash = spread(key.hashCode());
+		int frequency = Integer.MAX_VALUE;
+		for (int i = 0; i < 4; i++) {
+			int index = indexOf(hash, i);
+			int offset = offsetOf(hash, i);
+			frequency = Math.min(frequency, (int) ((table.get(index) >>> offset) & 0xfL));
+		}
+		return frequency;
+	}
+
+	/**
+	 * Records an occurrence of {@code key}.
+	 */
+	public void increment(Object key) {
+		int hash = spread(key.hashCode());
+		boolean added = false;
+		for (int i = 0; i < 4; i++) {
+			added |= incrementAt(indexOf(hash, i), offsetOf(hash, i));
+		}
+
+		if (added) {
+			additions.increment();
+			if (additions.sum() >= sampleSize) {
+				reset();
+			}
+		}
+	}
+
+	private boolean incrementAt(int index, int offset) {
+		long mask = 0xfL << offset;
+		while (true) {
+			long current = table.get(index);
+			if ((current & mask) == mask) {
+				return false;
+			}
+			if (table.compareAndSet(index, current, current + (1L << offset))) {
+				return true;
+			}
+		}
+	}
+
+	private synchronized void reset() {
+		if (additions.sum() < sampleSize) {
+			return;
+		}
+		for (int i = 0; i < table.length(); i++) {
+			long current;
+			do {
+				current = table.get(i);
+			} while (!table.compareAndSet(i, current, (current >>> 1) & RESET_MASK));
+		}
+		additions.reset();
+	}
+
+	private int indexOf(int hash, int row) {
+		long h = (hash + SEEDS[row]) * SEEDS[row];
+		h += h >>> 32;
+		return (int) h & tableMask;
+	}
+
+	private static int offsetOf(int hash, int row) {
+		return ((hash >>> (row << 3)) & 15) << 2;
+	}
+
+	private static int spread(int x) {
+		x = ((x >>> 16) ^ x) * 0x45d9f3b;
+		x = ((x >>> 16) ^ x) * 0x45d9f3b;
+		return (x >>> 16) ^ x;
+	}
+}
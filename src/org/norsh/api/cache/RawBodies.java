@@ -0,0 +1,199 @@
+package org.norsh.api.cache;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.norsh.api.logging.AsyncLog;
+import org.norsh.rest.RestResponse;
+
+/**
+ * Startup check of how the HTTP server writes bodies that are already serialized.
+ * <p>
+ * {@link RestResponse} serializes the bodies it is given. Whether it writes a {@code byte[]} unchanged, which
+ * {@code Content-Type} it declares for it, and whether it writes HTTP 304 without a body are not part of its contract,
+ * so once the server is listening {@link #probe(int)} requests the probe routes of {@code /v1/stats} over a plain
+ * socket and checks what reaches the wire. Until the probe has passed, every check answers {@code false} and callers
+ * hand data to the server like any other body.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>{@link #isSupported()}: a {@code byte[]} body reaches the client byte for byte, with a single JSON
+ * {@code Content-Type} or none.</li>
+ * <li>{@link #needsContentType()}: the server declares no type for it, so the caller adds {@code application/json}.</li>
+ * <li>{@link #isNotModifiedSupported()}: HTTP 304 with a {@code null} body is written without a body or a non-zero
+ * {@code Content-Length}.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see CachedResponse
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public final class RawBodies {
+	/**
+	 * Path of the route answering {@link #PROBE_BODY} as a {@code byte[]}, without a {@code Content-Type}.
+	 */
+	public static final String RAW_PATH = "/v1/stats/probe/raw";
+
+	/**
+	 * Path of the route answering HTTP 304 with a {@code null} body.
+	 */
+	public static final String NOT_MODIFIED_PATH = "/v1/stats/probe/notModified";
+
+	private static final byte[] PROBE_BODY = "{\"probe\":\"raw\",\"text\":\"é€\",\"numbers\":[1,2.5,-3]}".getBytes(StandardCharsets.UTF_8);
+	private static final int TIMEOUT_MS = 2000;
+	private static final int TRAILING_WAIT_MS = 200;
+
+	private static volatile boolean supported;
+	private static volatile boolean contentType;
+	private static volatile boolean notModified;
+
+	private RawBodies() {
+	}
+
+	/**
+	 * Returns a copy of the body the raw probe route answers.
+	 */
+	public static byte[] probeBody() {
+		return PROBE_BODY.clone();
+	}
+
+	public static boolean isSupported() {
+		return supported;
+	}
+
+	public static boolean needsContentType() {
+		return contentType;
+	}
+
+	public static boolean isNotModifiedSupported() {
+		return notModified;
+	}
+
+	/**
+	 * Requests the probe routes of the local server and records what it supports. Failures leave the checks
+	 * {@code false} and are logged.
+	 *
+	 * @param port the port the server listens on.
+	 */
+	public static void probe(int port) {
+		try {
+			Exchange raw = exchange(port, RAW_PATH);
+			List<String> types = raw.values("Content-Type");
+			boolean typed = types.isEmpty() || types.size() == 1 && types.getFirst().toLowerCase().startsWith("application/json");
+			contentType = types.isEmpty();
+			supported = raw.status() == 200 && typed && raw.values("Content-Encoding").isEmpty() && !raw.trailing()
+					&& Arrays.equals(raw.body(), PROBE_BODY);
+
+			Exchange empty = exchange(port, NOT_MODIFIED_PATH);
+			List<String> lengths = empty.values("Content-Length");
+			notModified = empty.status() == 304 && empty.body().length == 0 && !empty.trailing()
+					&& (lengths.isEmpty() || lengths.size() == 1 && lengths.getFirst().equals("0"));
+		} catch (IOException | RuntimeException e) {
+			AsyncLog.getInstance().system("Raw body probe failed; bodies are serialized by the server.", e);
+			return;
+		}
+		AsyncLog.getInstance().system(String.format("Raw body probe: bytes=%s, contentType=%s, notModified=%s.", supported, contentType ? "added" : "server", notModified), null);
+	}
+
+	/**
+	 * An HTTP response as read from the wire.
+	 *
+	 * @param trailing whether bytes followed the end of the response.
+	 */
+	private record Exchange(int status, List<String[]> headers, byte[] body, boolean trailing) {
+		List<String> values(String name) {
+			return headers.stream().filter(header -> header[0].equalsIgnoreCase(name)).map(header -> header[1]).toList();
+		}
+	}
+
+	private static Exchange exchange(int port, String path) throws IOException {
+		try (Socket socket = new Socket()) {
+			socket.connect(new InetSocketAddress("127.0.0.1", port), TIMEOUT_MS);
+			socket.setSoTimeout(TIMEOUT_MS);
+			OutputStream out = socket.getOutputStream();
+			out.write(("GET " + path + " HTTP/1.1\r\nHost: 127.0.0.1:" + port + "\r\nAccept-Encoding: identity\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+
+			InputStream in = new BufferedInputStream(socket.getInputStream());
+			String[] statusLine = readLine(in).split(" ", 3);
+			if (statusLine.length < 2 || !statusLine[0].startsWith("HTTP/")) {
+				throw new IOException("Not an HTTP response: " + String.join(" ", statusLine));
+			}
+			int status = Integer.parseInt(statusLine[1]);
+
+			List<String[]> headers = new ArrayList<>();
+			for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+				int colon = line.indexOf(':');
+				if (colon > 0) {
+					headers.add(new String[] { line.substring(0, colon).strip(), line.substring(colon + 1).strip() });
+				}
+			}
+			Exchange head = new Exchange(status, headers, new byte[0], false);
+
+			byte[] body;
+			if (status == 304 || status == 204) {
+				body = new byte[0];
+			} else if (head.values("Transfer-Encoding").stream().anyMatch(value -> value.toLowerCase().contains("chunked"))) {
+				body = readChunked(in);
+			} else if (!head.values("Content-Length").isEmpty()) {
+				body = in.readNBytes(Integer.parseInt(head.values("Content-Length").getFirst()));
+			} else {
+				return new Exchange(status, headers, in.readAllBytes(), false);
+			}
+
+			// Anything after the end of the response, e.g. a body written after a 304, would corrupt the next one
+			socket.setSoTimeout(TRAILING_WAIT_MS);
+			boolean trailing;
+			try {
+				trailing = in.read() >= 0;
+			} catch (SocketTimeoutException e) {
+				trailing = false;
+			}
+			return new Exchange(status, headers, body, trailing);
+		}
+	}
+
+	private static byte[] readChunked(InputStream in) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		while (true) {
+			String size = readLine(in);
+			int extension = size.indexOf(';');
+			int length = Integer.parseInt((extension < 0 ? size : size.substring(0, extension)).strip(), 16);
+			if (length == 0) {
+				while (!readLine(in).isEmpty()) {
+					// Trailer fields
+				}
+				return body.toByteArray();
+			}
+			body.write(in.readNBytes(length));
+			readLine(in);
+		}
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		StringBuilder line = new StringBuilder();
+		int b;
+		while ((b = in.read()) >= 0 && b != '\n') {
+			if (b != '\r') {
+				line.append((char) b);
+			}
+		}
+		if (b < 0 && line.isEmpty()) {
+			throw new IOException("Connection closed before the end of the response headers.");
+		}
+		return line.toString();
+	}
+}
@@ -1,5 +1,8 @@
 package org.norsh.api.config;
 
+import java.util.List;
+import java.util.Map;
+
 import org.norsh.config.Config;
 import org.norsh.config.LogConfig;
 
@@ -15,6 +18,8 @@ import org.norsh.config.LogConfig;
  * <li>Automatically loads API configurations from predefined locations.</li>
  * <li>Provides access to logging configurations.</li>
  * <li>Retrieves server properties for application setup.</li>
+ * <li>Resolves typed values from top-level keys (e.g. {@code transfer.url}) or nested blocks (e.g.
+ * {@code defaults.messagingTtlMs}).</li>
  * </ul>
  *
  * <h2>Configuration File Locations:</h2>
@@ -40,4 +45,80 @@ public class ApiConfig extends Config {
 	public static ApiConfig getInstance() {
 		return instance;
 	}
+
+	/**
+	 * Resolves a raw configuration value.
+	 * <p>
+	 * The key is first looked up as a top-level entry. When absent and the key contains a dot, the part before the first
+	 * dot is treated as a block name and the remainder as the entry inside that block.
+	 * </p>
+	 *
+	 * @param key the configuration key.
+	 * @return the raw value, or {@code null} if not configured.
+	 */
+	public Object resolve(String key) {
+		Object value = get(key, null);
+		if (value != null) {
+			return value;
+		}
+
+		int dot = key.indexOf('.');
+		if (dot <= 0) {
+			return null;
+		}
+
+		Object section = get(key.substring(0, dot), null);
+		if (section instanceof Map<?, ?> map) {
+			return map.get(key.substring(dot + 1));
+		}
+
+		return null;
+	}
+
+	public String getString(String key, String defaultValue) {
+		Object value = resolve(key);
+		return value == null ? defaultValue : String.valueOf(value);
+	}
+
+	public long getLong(String key, long defaultValue) {
+		Object value = resolve(key);
+		if (value instanceof Number number) {
+			return number.longValue();
+		}
+		return value == null ? defaultValue : Double.valueOf(String.valueOf(value)).longValue();
+	}
+
+	public int getInt(String key, int defaultValue) {
+		return (int) getLong(key, defaultValue);
+	}
+
+	public double getDouble(String key, double defaultValue) {
+		Object value = resolve(key);
+		if (value instanceof Number number) {
+			return number.doubleValue();
+		}
+		return value == null ? defaultValue : Double.parseDouble(String.valueOf(value));
+	}
+
+	public boolean getBoolean(String key, boolean defaultValue) {
+		Object value = resolve(key);
+		if (value instanceof Boolean bool) {
+			return bool;
+		}
+		return value == null ? defaultValue : Boolean.parseBoolean(String.valueOf(value));
+	}
+
+	/**
+	 * Resolves a configuration value holding a JSON array.
+	 *
+	 * @param key the configuration key.
+	 * @return the array entries as strings, or an empty list if not configured.
+	 */
+	public List<String> getList(String key) {
+		Object value = resolve(key);
+		if (value instanceof List<?> list) {
+			return list.stream().map(String::valueOf).toList();
+		}
+		return value == null ? List.of() : List.of(String.valueOf(value).split("\\s*,\\s*"));
+	}
 }
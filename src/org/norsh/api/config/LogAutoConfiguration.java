@@ -1,5 +1,6 @@
 package org.norsh.api.config;
 
+import org.norsh.api.logging.AsyncLog;
 import org.norsh.util.Log;
 
 /**
@@ -20,7 +21,7 @@ public class LogAutoConfiguration {
     /**
      * Provides the main logging instance.
      * <p>
-     * This bean initializes the logging system with the current API configuration settings.
+     * This bean is the instance shared with the {@link AsyncLog}, configured from the current API settings.
      * </p>
      *
      * @return an instance of {@link Log}.
@@ -28,6 +29,6 @@ public class LogAutoConfiguration {
 //    @Bean
 //    @Lazy
     public Log log() {
-        return new Log(ApiConfig.getInstance().getLogConfig());
+        return AsyncLog.getInstance().getLog();
     }
 }
@@ -0,0 +1,95 @@
+package org.norsh.api.crypto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.security.Cryptography;
+
+/**
+ * Pool of pre-generated ECDSA key pairs.
+ * <p>
+ * Background workers keep the pool filled up to its capacity, so key generation happens ahead of demand instead of on
+ * the request thread. Each key pair is handed out exactly once. When a burst drains the pool, callers fall back to
+ * generating a key pair inline rather than waiting.
+ * </p>
+ *
+ * <h2>Configuration ({@code api.json}):</h2>
+ * <ul>
+ * <li>{@code crypto.keys.poolSize}: number of key pairs kept ready.</li>
+ * <li>{@code crypto.keys.workers}: number of background generator threads.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see Cryptography
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class KeyPairPool {
+	private static volatile KeyPairPool instance;
+
+	private final BlockingQueue<Cryptography> ready;
+	private final LongAdder pooled = new LongAdder();
+	private final LongAdder inline = new LongAdder();
+
+	public KeyPairPool(int capacity, int workers) {
+		this.ready = new ArrayBlockingQueue<>(Math.max(1, capacity));
+		for (int i = 0; i < Math.max(1, workers); i++) {
+			Thread.ofPlatform().name("keypair-generator-" + i).daemon().priority(Thread.MIN_PRIORITY).start(this::fill);
+		}
+	}
+
+	/**
+	 * Returns the shared pool configured from {@code api.json}, starting its workers on first use.
+	 */
+	public static KeyPairPool getInstance() {
+		if (instance == null) {
+			synchronized (KeyPairPool.class) {
+				if (instance == null) {
+					instance = new KeyPairPool(ApiConfig.getInstance().getInt("crypto.keys.poolSize", 256), ApiConfig.getInstance().getInt("crypto.keys.workers", 1));
+				}
+			}
+		}
+		return instance;
+	}
+
+	private void fill() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				ready.put(new Cryptography());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Takes a key pair, generating one inline if the pool is empty.
+	 */
+	public Cryptography take() {
+		Cryptography cryptography = ready.poll();
+		if (cryptography != null) {
+			pooled.increment();
+			return cryptography;
+		}
+
+		inline.increment();
+		return new Cryptography();
+	}
+
+	/**
+	 * Returns a snapshot of the pool counters.
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("ready", ready.size());
+		stats.put("capacity", ready.size() + ready.remainingCapacity());
+		stats.put("servedFromPool", pooled.sum());
+		stats.put("generatedInline", inline.sum());
+		return stats;
+	}
+}
@@ -0,0 +1,27 @@
+package org.norsh.api.exceptions;
+
+/**
+ * Thrown when the blockchain does not answer in time; mapped to HTTP 504.
+ * <p>
+ * {@link #DEADLINE_EXCEEDED} means the caller stopped waiting, which says nothing about the upstream.
+ * {@link #UPSTREAM_TIMEOUT} means an exchange with the upstream timed out, and counts as an upstream failure.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class GatewayTimeoutException extends RejectedRequestException {
+	private static final long serialVersionUID = 1L;
+
+	/** The request deadline passed while waiting for the blockchain. */
+	public static final GatewayTimeoutException DEADLINE_EXCEEDED = new GatewayTimeoutException("The request deadline passed before the blockchain answered.");
+
+	/** An exchange with the blockchain timed out. */
+	public static final GatewayTimeoutException UPSTREAM_TIMEOUT = new GatewayTimeoutException("The blockchain did not answer in time.");
+
+	public GatewayTimeoutException(String message) {
+		super(504, 0, message);
+	}
+}
@@ -0,0 +1,57 @@
+package org.norsh.api.exceptions;
+
+import java.util.List;
+
+import org.norsh.exceptions.NorshException;
+
+/**
+ * Thrown when a request is malformed, such as a missing body, or fails DTO validation; both are answered with HTTP 400
+ * unless a more specific client error status is given.
+ * <p>
+ * Malformed requests are routine and can arrive in floods, so these exceptions carry no stack trace and the common ones
+ * are shared instances. Validation failures raised by the model library are rethrown as one of these (see
+ * {@link #of(NorshException)}), so the error path never walks or logs their stack.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class InvalidRequestException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	/** The request has no body where one is required. */
+	public static final InvalidRequestException MISSING_BODY = new InvalidRequestException("Required request body is missing.");
+
+	private final int status;
+	private final List<String> details;
+
+	public InvalidRequestException(String message) {
+		this(400, message, null);
+	}
+
+	public InvalidRequestException(int status, String message, List<String> details) {
+		super(message, null, false, false);
+		this.status = status;
+		this.details = details;
+	}
+
+	/**
+	 * Returns a stackless copy of a DTO validation failure, keeping its message and details and answering HTTP 400.
+	 */
+	public static InvalidRequestException of(NorshException validation) {
+		return new InvalidRequestException(400, validation.getMessage(), validation.getDetails());
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * Returns the details of the failure, or {@code null} if there are none.
+	 */
+	public List<String> getDetails() {
+		return details;
+	}
+}
@@ -0,0 +1,34 @@
+package org.norsh.api.exceptions;
+
+/**
+ * Base exception for requests refused before reaching the blockchain, to protect the API or the upstream.
+ * <p>
+ * These exceptions are part of normal operation under load, so they carry no stack trace. The HTTP status and the
+ * {@code Retry-After} hint are applied by the exception handler.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public abstract class RejectedRequestException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	private final int status;
+	private final long retryAfterSeconds;
+
+	protected RejectedRequestException(int status, long retryAfterSeconds, String message) {
+		super(message, null, false, false);
+		this.status = status;
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
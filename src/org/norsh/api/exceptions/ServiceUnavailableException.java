@@ -0,0 +1,17 @@
+package org.norsh.api.exceptions;
+
+/**
+ * Thrown when the blockchain upstream is saturated or its circuit is open; mapped to HTTP 503.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class ServiceUnavailableException extends RejectedRequestException {
+	private static final long serialVersionUID = 1L;
+
+	public ServiceUnavailableException(long retryAfterSeconds, String message) {
+		super(503, retryAfterSeconds, message);
+	}
+}
@@ -0,0 +1,17 @@
+package org.norsh.api.exceptions;
+
+/**
+ * Thrown when a client or sender exceeds its rate limit; mapped to HTTP 429.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class TooManyRequestsException extends RejectedRequestException {
+	private static final long serialVersionUID = 1L;
+
+	public TooManyRequestsException(long retryAfterSeconds, String message) {
+		super(429, retryAfterSeconds, message);
+	}
+}
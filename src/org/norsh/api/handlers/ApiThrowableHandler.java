@@ -1,9 +1,12 @@
 package org.norsh.api.handlers;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
+import org.norsh.api.cache.RawBodies;
+import org.norsh.api.exceptions.InvalidRequestException;
+import org.norsh.api.exceptions.RejectedRequestException;
+import org.norsh.api.metrics.RequestTimer;
+import org.norsh.exceptions.InternalException;
 import org.norsh.exceptions.NorshException;
 import org.norsh.exceptions.OperationException;
 import org.norsh.rest.RestRequest;
@@ -11,54 +14,93 @@ import org.norsh.rest.RestResponse;
 import org.norsh.rest.annotations.ThrowableHandler;
 
 public class ApiThrowableHandler {
+	private static final String MISSING_CONTENT = "argument \"content\" is null";
+
 	@ThrowableHandler(Exception.class)
 	public void exception(RestRequest request, RestResponse response, Throwable ex) throws IOException {
 		if (response == null)
 			return;
 		
-		response.setBody(500, buildResponse(ex));
-		response.writeResponse();
+		writeResponse(request, response, 500, ex);
 	}
 
 	@ThrowableHandler(NorshException.class)
 	public void norshException(RestRequest request, RestResponse response, Throwable ex) throws IOException {
-		response.setBody(500, buildResponse(ex));
-		response.writeResponse();
+		writeResponse(request, response, 500, ex);
 	}
 
 	@ThrowableHandler(OperationException.class)
 	public void operationException(RestRequest request, RestResponse response, OperationException ex) throws IOException {
-		response.setBody(500, buildResponse(ex));
-		response.writeResponse();
+		writeResponse(request, response, 500, ex);
 	}
 
-	private Map<String, Object> buildResponse(Throwable ex) {
-		Map<String, Object> response = new HashMap<>();
-		response.put("error", true);
-		response.put("timestamp", System.currentTimeMillis());
+	@ThrowableHandler(RejectedRequestException.class)
+	public void rejectedRequestException(RestRequest request, RestResponse response, RejectedRequestException ex) throws IOException {
+		response.addHeader("Retry-After", String.valueOf(ex.getRetryAfterSeconds()));
+		writeResponse(request, response, ex.getStatus(), ex);
+	}
 
-		String message = ex.getMessage();
+	@ThrowableHandler(InvalidRequestException.class)
+	public void invalidRequestException(RestRequest request, RestResponse response, InvalidRequestException ex) throws IOException {
+		writeResponse(request, response, ex.getStatus(), ex);
+	}
 
-		if (message != null) {
-			if (message.toLowerCase().contains("argument \"content\" is null")) {
-				response.put("message", "Required request body is missing.");
-			} else if (ex instanceof NorshException) {
-				response.put("message", message);
-			} else {
-				message = null;
-			}
+	private void writeResponse(RestRequest request, RestResponse response, int status, Throwable ex) throws IOException {
+		// A request without the body the handler reads is a client error whatever exception the parser raised
+		if (isMissingContent(ex)) {
+			status = 400;
 		}
 
-		if (message == null) {
-			response.put("message", "An unexpected error occurred while processing the request.");
+		Object body = buildResponse(ex);
+		if (body instanceof byte[] && RawBodies.needsContentType()) {
+			response.addHeader("Content-Type", "application/json");
+		}
+		if (request != null) {
+			RequestTimer.finish(request, status, body instanceof byte[] bytes ? bytes.length : -1);
 		}
 
-		if (ex instanceof NorshException nex && !nex.getDetails().isEmpty()) {
-			response.put("details", nex.getDetails());
+		response.setBody(status, body);
+		response.writeResponse();
+	}
+
+	/**
+	 * Builds the error body (see {@link ErrorBody}). Stack traces are only kept for unexpected failures and are logged
+	 * asynchronously by the {@link StackTraceLogger}.
+	 */
+	Object buildResponse(Throwable ex) {
+		if (ex instanceof InvalidRequestException invalid) {
+			return ErrorBody.of(invalid.getMessage(), invalid.getDetails());
+		}
+		if (ex instanceof RejectedRequestException) {
+			return ErrorBody.of(ex.getMessage());
 		}
 
-		ex.printStackTrace();
+		if (isMissingContent(ex)) {
+			return ErrorBody.of(ErrorBody.MISSING_BODY);
+		}
+
+		if (!(ex instanceof NorshException) || ex instanceof InternalException) {
+			StackTraceLogger.getInstance().log(ex);
+		}
+
+		if (ex.getMessage() != null && ex instanceof NorshException nex) {
+			return ErrorBody.of(ex.getMessage(), nex.getDetails());
+		}
+
+		return ErrorBody.of(ErrorBody.UNEXPECTED);
+	}
+
+	private static boolean isMissingContent(Throwable ex) {
+		String message = ex.getMessage();
+		return message != null && containsIgnoreCase(message, MISSING_CONTENT);
+	}
 
-		return response;
+	private static boolean containsIgnoreCase(String text, String part) {
+		for (int i = 0, last = text.length() - part.length(); i <= last; i++) {
+			if (text.regionMatches(true, i, part, 0, part.length())) {
+				return true;
+			}
+		}
+		return false;
 	}
 }
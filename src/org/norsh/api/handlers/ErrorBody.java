@@ -0,0 +1,104 @@
+package org.norsh.api.handlers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.norsh.api.cache.RawBodies;
+import org.norsh.util.Converter;
+
+/**
+ * JSON error body.
+ * <p>
+ * Bodies without details (a missing body, an unexpected failure, the rejections of the limiters) come from a handful
+ * of fixed messages. When the server writes byte array bodies unchanged ({@link RawBodies}), each of them is rendered
+ * once and every response only appends its timestamp; otherwise, and for bodies with details, the body is the map the
+ * server serializes for every other response.
+ * </p>
+ *
+ * <h2>Format:</h2>
+ * <pre>
+ * { "error": true, "message": "...", "details": [ ... ], "timestamp": 1735689600000 }
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+final class ErrorBody {
+	static final String MISSING_BODY = "Required request body is missing.";
+	static final String UNEXPECTED = "An unexpected error occurred while processing the request.";
+
+	/** Distinct messages rendered ahead; beyond that, bodies are rendered on each response. */
+	private static final int MAX_RENDERED = 64;
+	private static final Map<String, byte[]> rendered = new ConcurrentHashMap<>();
+
+	private ErrorBody() {
+	}
+
+	/**
+	 * Returns the body for a message without details: a {@code byte[]} when the server writes them unchanged, a map
+	 * otherwise.
+	 */
+	static Object of(String message) {
+		if (!RawBodies.isSupported()) {
+			return map(message, null);
+		}
+
+		byte[] prefix = rendered.get(message);
+		if (prefix == null) {
+			prefix = render(message);
+			if (rendered.size() < MAX_RENDERED) {
+				rendered.putIfAbsent(message, prefix);
+			}
+		}
+		return withTimestamp(prefix, System.currentTimeMillis());
+	}
+
+	/**
+	 * Returns the body for a message and, when not empty, its details.
+	 */
+	static Object of(String message, List<String> details) {
+		return details == null || details.isEmpty() ? of(message) : map(message, details);
+	}
+
+	private static Map<String, Object> map(String message, List<String> details) {
+		Map<String, Object> body = new LinkedHashMap<>(6);
+		body.put("error", true);
+		body.put("message", message);
+		if (details != null && !details.isEmpty()) {
+			body.put("details", details);
+		}
+		body.put("timestamp", System.currentTimeMillis());
+		return body;
+	}
+
+	/**
+	 * Renders everything up to the timestamp value: {@code {"error":true,"message":"...","timestamp":}.
+	 */
+	private static byte[] render(String message) {
+		Map<String, Object> body = new LinkedHashMap<>(4);
+		body.put("error", true);
+		body.put("message", message);
+		String json = Converter.toJson(body);
+		return (json.substring(0, json.lastIndexOf('}')) + ",\"timestamp\":").getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[] withTimestamp(byte[] prefix, long timestamp) {
+		int digits = 1;
+		for (long rest = timestamp / 10; rest > 0; rest /= 10) {
+			digits++;
+		}
+		byte[] body = Arrays.copyOf(prefix, prefix.length + digits + 1);
+		body[body.length - 1] = '}';
+		for (int i = body.length - 2; i >= prefix.length; i--) {
+			body[i] = (byte) ('0' + timestamp % 10);
+			timestamp /= 10;
+		}
+		return body;
+	}
+}
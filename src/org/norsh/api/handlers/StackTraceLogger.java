@@ -0,0 +1,61 @@
+package org.norsh.api.handlers;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.logging.AsyncLog;
+
+/**
+ * Rate-limited stack trace logger for unexpected failures.
+ * <p>
+ * Request threads only hand the exception to the {@link AsyncLog}, whose writer thread formats and writes it. At most
+ * {@code errors.stackTracesPerSecond} traces are accepted per second, and anything beyond that or beyond the log buffer
+ * is counted and reported as a single summary line, so an error flood cannot slow down good traffic.
+ * </p>
+ *
+ * <h2>Configuration ({@code api.json}):</h2>
+ * <ul>
+ * <li>{@code errors.stackTracesPerSecond}: traces logged per second before suppression.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+final class StackTraceLogger {
+	private static final StackTraceLogger INSTANCE = new StackTraceLogger(ApiConfig.getInstance().getInt("errors.stackTracesPerSecond", 10));
+
+	private final int perSecond;
+	private final AtomicLong window = new AtomicLong();
+	private final AtomicLong accepted = new AtomicLong();
+	private final LongAdder suppressed = new LongAdder();
+
+	private StackTraceLogger(int perSecond) {
+		this.perSecond = perSecond;
+	}
+
+	static StackTraceLogger getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Logs a stack trace, or counts it as suppressed when over the rate or the log buffer capacity.
+	 */
+	void log(Throwable ex) {
+		long second = System.nanoTime() / 1_000_000_000L;
+		long current = window.get();
+		if (current != second && window.compareAndSet(current, second)) {
+			accepted.set(0);
+			long dropped = suppressed.sumThenReset();
+			if (dropped > 0) {
+				AsyncLog.getInstance().system(dropped + " stack trace(s) suppressed by errors.stackTracesPerSecond.", null);
+			}
+		}
+
+		if (accepted.incrementAndGet() > perSecond || !AsyncLog.getInstance().system(null, ex)) {
+			suppressed.increment();
+		}
+	}
+}
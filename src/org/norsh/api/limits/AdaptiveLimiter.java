@@ -0,0 +1,136 @@
+package org.norsh.api.limits;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.norsh.api.config.ApiConfig;
+
+/**
+ * Adaptive concurrency limit for calls to the blockchain upstream.
+ * <p>
+ * Uses additive-increase/multiplicative-decrease driven by observed latency. A long-term latency average serves as the
+ * baseline; a call slower than {@code tolerance} times that baseline, or a failed call, shrinks the limit by the
+ * {@code backoff} ratio. A fast call made while at least half of the limit is in use grows it by one. Calls beyond the
+ * limit are rejected immediately instead of queueing.
+ * </p>
+ *
+ * <h2>Configuration ({@code api.json}):</h2>
+ * <ul>
+ * <li>{@code limits.concurrency.initial}, {@code limits.concurrency.min}, {@code limits.concurrency.max}</li>
+ * <li>{@code limits.concurrency.backoff}: multiplicative decrease ratio.</li>
+ * <li>{@code limits.concurrency.tolerance}: latency multiple of the baseline considered congested.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class AdaptiveLimiter {
+	private static final double BASELINE_WEIGHT = 0.05;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double backoff;
+	private final double tolerance;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+	private volatile double limit;
+	private double baselineNanos;
+
+	public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double backoff, double tolerance) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.backoff = backoff;
+		this.tolerance = tolerance;
+		this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+	}
+
+	/**
+	 * Creates a limiter configured from {@code api.json}.
+	 */
+	public static AdaptiveLimiter fromConfig() {
+		ApiConfig config = ApiConfig.getInstance();
+		return new AdaptiveLimiter(
+				config.getInt("limits.concurrency.initial", 64),
+				config.getInt("limits.concurrency.min", 8),
+				config.getInt("limits.concurrency.max", 1024),
+				config.getDouble("limits.concurrency.backoff", 0.9),
+				config.getDouble("limits.concurrency.tolerance", 2.0));
+	}
+
+	/**
+	 * Takes a slot for a call.
+	 *
+	 * @return {@code true} if the call may proceed; {@link #release} must then be called exactly once.
+	 */
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= (int) limit) {
+				rejected.increment();
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns a slot and adjusts the limit from the call outcome.
+	 *
+	 * @param latencyNanos the duration of the call.
+	 * @param success      whether the upstream answered in time.
+	 */
+	public void release(long latencyNanos, boolean success) {
+		int current = inFlight.getAndDecrement();
+
+		synchronized (this) {
+			if (baselineNanos == 0) {
+				baselineNanos = latencyNanos;
+			}
+
+			if (!success || latencyNanos > baselineNanos * tolerance) {
+				limit = Math.max(minLimit, limit * backoff);
+			} else if (current * 2 >= limit) {
+				limit = Math.min(maxLimit, limit + 1);
+			}
+
+			if (success) {
+				baselineNanos += (latencyNanos - baselineNanos) * BASELINE_WEIGHT;
+			}
+		}
+	}
+
+	/**
+	 * Returns a slot without adjusting the limit, for a call abandoned by its caller before the upstream answered.
+	 */
+	public void abandon() {
+		inFlight.decrementAndGet();
+	}
+
+	/**
+	 * Tells whether every slot is taken, so the next {@link #tryAcquire} would be rejected.
+	 */
+	public boolean isSaturated() {
+		return inFlight.get() >= (int) limit;
+	}
+
+	/**
+	 * Returns a snapshot of the limiter state.
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("limit", (int) limit);
+		stats.put("inFlight", inFlight.get());
+		stats.put("rejected", rejected.sum());
+		synchronized (this) {
+			stats.put("baselineMs", baselineNanos / 1_000_000d);
+		}
+		return stats;
+	}
+}
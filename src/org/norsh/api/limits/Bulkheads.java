@@ -0,0 +1,261 @@
+package org.norsh.api.limits;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.exceptions.ServiceUnavailableException;
+
+/**
+ * Bulkheads bounding how many requests of each {@link RouteClass} run at once.
+ * <p>
+ * Each class has its own concurrency limit and waiting queue, so a burst of key generation or slow writes cannot take
+ * the capacity reads rely on. On top of that, {@code bulkheads.total} bounds all classes together; when it is reached,
+ * freed slots go to waiting requests in {@link RouteClass} order, so reads are dispatched ahead of crypto and writes.
+ * Within a class, requests are served first come, first served.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Waiting requests park their (virtual) thread; no executor or thread is dedicated to a class.</li>
+ * <li>A request is refused with HTTP 503 when its class queue is full, or when it waited longer than the class
+ * {@code maxWaitMs}.</li>
+ * <li>Active, queued, admitted, rejected and timed-out counters per class (see {@link #getStats()}).</li>
+ * </ul>
+ *
+ * <h2>Configuration ({@code api.json}):</h2>
+ * <ul>
+ * <li>{@code bulkheads.total}: requests running across all classes; {@code 0} disables the shared bound.</li>
+ * <li>{@code bulkheads.<class>.maxConcurrent}: requests of the class running at once; {@code 0} uses twice the number
+ * of cores.</li>
+ * <li>{@code bulkheads.<class>.maxQueue}: requests of the class waiting for a slot.</li>
+ * <li>{@code bulkheads.<class>.maxWaitMs}: longest wait for a slot.</li>
+ * </ul>
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>
+ * try (Bulkheads.Permit permit = Bulkheads.getInstance().enter(RouteClass.READ)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public final class Bulkheads {
+	private static final Bulkheads instance = fromConfig();
+
+	/**
+	 * Slot taken in a bulkhead, given back by {@link #close()}.
+	 */
+	public interface Permit extends AutoCloseable {
+		@Override
+		void close();
+	}
+
+	private static final class Waiter {
+		private final Thread thread = Thread.currentThread();
+		private volatile boolean granted;
+	}
+
+	private final class Bulkhead implements Permit {
+		private final RouteClass routeClass;
+		private final int maxConcurrent;
+		private final int maxQueue;
+		private final long maxWaitNanos;
+		private final ServiceUnavailableException rejection;
+		private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+		private int active;
+
+		private final LongAdder admitted = new LongAdder();
+		private final LongAdder queued = new LongAdder();
+		private final LongAdder rejected = new LongAdder();
+		private final LongAdder timedOut = new LongAdder();
+
+		private Bulkhead(RouteClass routeClass, int maxConcurrent, int maxQueue, long maxWaitMs) {
+			this.routeClass = routeClass;
+			this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors() * 2;
+			this.maxQueue = maxQueue;
+			this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+			this.rejection = new ServiceUnavailableException(1, "Too many " + routeClass.getLabel() + " requests in progress, please retry.");
+		}
+
+		private boolean hasRoom() {
+			return active < maxConcurrent && (total <= 0 || running < total);
+		}
+
+		@Override
+		public void close() {
+			release(this);
+		}
+	}
+
+	private final int total;
+	private final Bulkhead[] bulkheads = new Bulkhead[RouteClass.values().length];
+	private final ReentrantLock lock = new ReentrantLock();
+	private int running;
+
+	private Bulkheads(int total, ApiConfig config) {
+		this.total = total;
+		for (RouteClass routeClass : RouteClass.values()) {
+			String prefix = "bulkheads." + routeClass.getLabel() + ".";
+			bulkheads[routeClass.ordinal()] = new Bulkhead(routeClass,
+					config.getInt(prefix + "maxConcurrent", 0),
+					config.getInt(prefix + "maxQueue", 1024),
+					config.getLong(prefix + "maxWaitMs", 2000));
+		}
+	}
+
+	/**
+	 * Creates the bulkheads configured in {@code api.json}.
+	 */
+	public static Bulkheads fromConfig() {
+		ApiConfig config = ApiConfig.getInstance();
+		return new Bulkheads(config.getInt("bulkheads.total", 0), config);
+	}
+
+	public static Bulkheads getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Takes a slot in the bulkhead of a route class, waiting for one if needed.
+	 *
+	 * @return the permit to close once the request has been handled.
+	 * @throws ServiceUnavailableException if the class queue is full, the wait timed out or the thread was interrupted.
+	 */
+	public Permit enter(RouteClass routeClass) {
+		Bulkhead bulkhead = bulkheads[routeClass.ordinal()];
+		Waiter waiter;
+
+		lock.lock();
+		try {
+			if (bulkhead.waiters.isEmpty() && bulkhead.hasRoom()) {
+				admit(bulkhead);
+				return bulkhead;
+			}
+			if (bulkhead.waiters.size() >= bulkhead.maxQueue) {
+				bulkhead.rejected.increment();
+				throw bulkhead.rejection;
+			}
+			waiter = new Waiter();
+			bulkhead.waiters.addLast(waiter);
+			bulkhead.queued.increment();
+		} finally {
+			lock.unlock();
+		}
+
+		long deadline = System.nanoTime() + bulkhead.maxWaitNanos;
+		while (!waiter.granted) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+				break;
+			}
+			LockSupport.parkNanos(this, remaining);
+		}
+		if (waiter.granted) {
+			return bulkhead;
+		}
+
+		lock.lock();
+		try {
+			// The slot may have been granted right after the wait ended
+			if (waiter.granted) {
+				return bulkhead;
+			}
+			bulkhead.waiters.remove(waiter);
+			bulkhead.rejected.increment();
+			bulkhead.timedOut.increment();
+		} finally {
+			lock.unlock();
+		}
+		throw bulkhead.rejection;
+	}
+
+	private void admit(Bulkhead bulkhead) {
+		bulkhead.active++;
+		running++;
+		bulkhead.admitted.increment();
+	}
+
+	private void release(Bulkhead bulkhead) {
+		lock.lock();
+		try {
+			bulkhead.active--;
+			running--;
+			dispatch();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Hands free slots to waiting requests, highest priority class first. Called with the lock held.
+	 */
+	private void dispatch() {
+		for (Bulkhead bulkhead : bulkheads) {
+			while (!bulkhead.waiters.isEmpty() && bulkhead.hasRoom()) {
+				Waiter waiter = bulkhead.waiters.pollFirst();
+				admit(bulkhead);
+				waiter.granted = true;
+				LockSupport.unpark(waiter.thread);
+			}
+		}
+	}
+
+	/**
+	 * Returns the counters of every bulkhead, keyed by route class.
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		lock.lock();
+		try {
+			stats.put("total", total);
+			stats.put("running", running);
+			for (Bulkhead bulkhead : bulkheads) {
+				Map<String, Object> counters = new LinkedHashMap<>();
+				counters.put("maxConcurrent", bulkhead.maxConcurrent);
+				counters.put("maxQueue", bulkhead.maxQueue);
+				counters.put("active", bulkhead.active);
+				counters.put("queueDepth", bulkhead.waiters.size());
+				counters.put("admitted", bulkhead.admitted.sum());
+				counters.put("queued", bulkhead.queued.sum());
+				counters.put("rejected", bulkhead.rejected.sum());
+				counters.put("timedOut", bulkhead.timedOut.sum());
+				stats.put(bulkhead.routeClass.getLabel(), counters);
+			}
+		} finally {
+			lock.unlock();
+		}
+		return stats;
+	}
+
+	public int getActive(RouteClass routeClass) {
+		lock.lock();
+		try {
+			return bulkheads[routeClass.ordinal()].active;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int getQueueDepth(RouteClass routeClass) {
+		lock.lock();
+		try {
+			return bulkheads[routeClass.ordinal()].waiters.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public long getRejected(RouteClass routeClass) {
+		return bulkheads[routeClass.ordinal()].rejected.sum();
+	}
+}
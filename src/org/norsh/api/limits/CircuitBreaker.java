@@ -0,0 +1,150 @@
+package org.norsh.api.limits;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.norsh.api.config.ApiConfig;
+
+/**
+ * Circuit breaker for the blockchain upstream.
+ * <p>
+ * After {@code failureThreshold} consecutive failures the circuit opens and calls are refused for {@code openMs}. It
+ * then lets up to {@code halfOpenProbes} calls through; the first success closes it again, and a failure reopens it.
+ * </p>
+ *
+ * <h2>Configuration ({@code api.json}):</h2>
+ * <ul>
+ * <li>{@code limits.breaker.failureThreshold}</li>
+ * <li>{@code limits.breaker.openMs}</li>
+ * <li>{@code limits.breaker.halfOpenProbes}</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class CircuitBreaker {
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final long openNanos;
+	private final int halfOpenProbes;
+
+	/**
+	 * State and the time the circuit last opened, swapped as one so that a reader never sees {@code OPEN} without its time.
+	 */
+	private record Phase(State state, long since) {
+	}
+
+	private static final Phase CLOSED = new Phase(State.CLOSED, 0);
+
+	private final AtomicReference<Phase> phase = new AtomicReference<>(CLOSED);
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+	private final AtomicInteger probes = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder trips = new LongAdder();
+
+	public CircuitBreaker(int failureThreshold, long openMs, int halfOpenProbes) {
+		this.failureThreshold = failureThreshold;
+		this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+		this.halfOpenProbes = halfOpenProbes;
+	}
+
+	/**
+	 * Creates a breaker configured from {@code api.json}.
+	 */
+	public static CircuitBreaker fromConfig() {
+		ApiConfig config = ApiConfig.getInstance();
+		return new CircuitBreaker(
+				config.getInt("limits.breaker.failureThreshold", 20),
+				config.getLong("limits.breaker.openMs", 5000),
+				config.getInt("limits.breaker.halfOpenProbes", 5));
+	}
+
+	/**
+	 * Tells whether a call may be attempted now.
+	 */
+	public boolean allow() {
+		Phase current = phase.get();
+		if (current.state() == State.CLOSED) {
+			return true;
+		}
+
+		if (current.state() == State.OPEN) {
+			if (System.nanoTime() - current.since() < openNanos || !phase.compareAndSet(current, new Phase(State.HALF_OPEN, current.since()))) {
+				return reject();
+			}
+			probes.set(0);
+		}
+
+		return probes.incrementAndGet() <= halfOpenProbes || reject();
+	}
+
+	private boolean reject() {
+		rejected.increment();
+		return false;
+	}
+
+	public void onSuccess() {
+		consecutiveFailures.set(0);
+		Phase current = phase.get();
+		if (current.state() == State.HALF_OPEN) {
+			phase.compareAndSet(current, CLOSED);
+		}
+	}
+
+	public void onFailure() {
+		if (phase.get().state() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+			trip();
+		}
+	}
+
+	/**
+	 * Records a call abandoned by its caller, which says nothing about the upstream; a half-open probe slot is freed for
+	 * another call.
+	 */
+	public void onAbandoned() {
+		if (phase.get().state() == State.HALF_OPEN) {
+			probes.updateAndGet(count -> Math.min(count, halfOpenProbes) - 1);
+		}
+	}
+
+	private void trip() {
+		Phase current = phase.get();
+		if (current.state() != State.OPEN && phase.compareAndSet(current, new Phase(State.OPEN, System.nanoTime()))) {
+			consecutiveFailures.set(0);
+			trips.increment();
+		}
+	}
+
+	public State getState() {
+		return phase.get().state();
+	}
+
+	/**
+	 * Returns the seconds left before the circuit lets probes through, at least one.
+	 */
+	public long getRetryAfterSeconds() {
+		long remaining = openNanos - (System.nanoTime() - phase.get().since());
+		return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999));
+	}
+
+	/**
+	 * Returns a snapshot of the breaker state.
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("state", getState().name());
+		stats.put("consecutiveFailures", consecutiveFailures.get());
+		stats.put("trips", trips.sum());
+		stats.put("rejected", rejected.sum());
+		return stats;
+	}
+}
@@ -0,0 +1,98 @@
+package org.norsh.api.limits;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.metrics.RequestTimer;
+import org.norsh.api.routes.RouteTable;
+import org.norsh.api.routes.RouteTable.Route;
+import org.norsh.rest.RestRequest;
+
+/**
+ * Point in time after which nobody waits for the answer to a request.
+ * <p>
+ * The deadline counts from the moment the request started being handled. Its budget is the one configured for the
+ * route in {@code deadlines.routes} (keyed by route label, e.g. {@code GET /v1/elements/{id}}), or
+ * {@code transfer.timeoutMs}; a client may shorten it, never extend it, by sending the number of milliseconds it is
+ * willing to wait in the {@code deadlines.header} header ({@code X-Request-Timeout} by default).
+ * </p>
+ * <p>
+ * The remaining time is passed to the blockchain in the same header and bounds the upstream exchange, which is
+ * cancelled once the deadline passes.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public final class Deadline {
+	/** Header carrying the remaining time in milliseconds, from the client and to the blockchain. */
+	public static final String HEADER = ApiConfig.getInstance().getString("deadlines.header", "X-Request-Timeout");
+
+	private static final long DEFAULT_MS = ApiConfig.getInstance().getLong("transfer.timeoutMs", ApiConfig.getInstance().getLong("defaults.messagingTimeoutMs", 30_000));
+	private static final Map<String, Long> BUDGETS = readBudgets();
+	private static final ThreadLocal<Deadline> current = new ThreadLocal<>();
+
+	private final RestRequest request;
+	private final long deadlineNanos;
+
+	private Deadline(RestRequest request, long deadlineNanos) {
+		this.request = request;
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	private static Map<String, Long> readBudgets() {
+		Map<String, Long> budgets = new HashMap<>();
+		if (ApiConfig.getInstance().resolve("deadlines.routes") instanceof Map<?, ?> routes) {
+			routes.forEach((route, budget) -> budgets.put(String.valueOf(route), Double.valueOf(String.valueOf(budget)).longValue()));
+		}
+		return budgets;
+	}
+
+	/**
+	 * Returns the deadline of a request, computed on the first call for that request on the current thread.
+	 */
+	public static Deadline of(RestRequest request) {
+		Deadline deadline = current.get();
+		if (deadline != null && deadline.request == request) {
+			return deadline;
+		}
+
+		long budgetMs = DEFAULT_MS;
+		Route route = RouteTable.getInstance().resolve(request.getRestMethod(), request.getPath());
+		if (route != null) {
+			budgetMs = BUDGETS.getOrDefault(route.label(), DEFAULT_MS);
+		}
+
+		String header = request.getHeader(HEADER);
+		if (header != null) {
+			try {
+				long requestedMs = Long.parseLong(header.strip());
+				if (requestedMs >= 0) {
+					budgetMs = Math.min(budgetMs, requestedMs);
+				}
+			} catch (NumberFormatException e) {
+				// Ignore a malformed header and keep the route budget
+			}
+		}
+
+		deadline = new Deadline(request, RequestTimer.startOf(request) + TimeUnit.MILLISECONDS.toNanos(budgetMs));
+		current.set(deadline);
+		return deadline;
+	}
+
+	public long remainingNanos() {
+		return Math.max(0, deadlineNanos - System.nanoTime());
+	}
+
+	public long remainingMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+	}
+
+	public boolean isExpired() {
+		return deadlineNanos - System.nanoTime() <= 0;
+	}
+}
@@ -0,0 +1,122 @@
+package org.norsh.api.limits;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.exceptions.TooManyRequestsException;
+import org.norsh.rest.RestRequest;
+
+/**
+ * Rate limits applied to writes, per client and per sender.
+ * <p>
+ * Every write takes a token from the {@link TokenBucketLimiter} of its client address, and one from the limiter of its
+ * sender, when it has one: the public key signing the payment or element write. A client or sender out of tokens
+ * is refused with HTTP 429 and a {@code Retry-After} of the time until its next token.
+ * </p>
+ *
+ * <h2>Configuration ({@code api.json}):</h2>
+ * <ul>
+ * <li>{@code rateLimits.enabled}: whether writes are rate limited.</li>
+ * <li>{@code rateLimits.maxKeys}: buckets kept per limiter; idle ones are reused.</li>
+ * <li>{@code rateLimits.client.ratePerSecond}, {@code rateLimits.client.burst}: limit per client address.</li>
+ * <li>{@code rateLimits.sender.ratePerSecond}, {@code rateLimits.sender.burst}: limit per sender.</li>
+ * <li>{@code rateLimits.clientHeader}: header holding the client address when behind a proxy (e.g.
+ * {@code X-Forwarded-For}, whose first entry is used); empty to use the connection address.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public final class RateLimits {
+	private static final RateLimits instance = new RateLimits();
+
+	private final boolean enabled;
+	private final String clientHeader;
+	private final TokenBucketLimiter clients;
+	private final TokenBucketLimiter senders;
+
+	private RateLimits() {
+		ApiConfig config = ApiConfig.getInstance();
+		int maxKeys = config.getInt("rateLimits.maxKeys", 65_536);
+		enabled = config.getBoolean("rateLimits.enabled", true);
+		clientHeader = config.getString("rateLimits.clientHeader", "");
+		clients = new TokenBucketLimiter("client", config.getDouble("rateLimits.client.ratePerSecond", 50), config.getInt("rateLimits.client.burst", 100), maxKeys);
+		senders = new TokenBucketLimiter("sender", config.getDouble("rateLimits.sender.ratePerSecond", 10), config.getInt("rateLimits.sender.burst", 20), maxKeys);
+	}
+
+	public static RateLimits getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Takes a token for the client of a request.
+	 *
+	 * @throws TooManyRequestsException if the client is over its limit.
+	 */
+	public void checkClient(RestRequest request) {
+		if (!enabled) {
+			return;
+		}
+		String client = clientOf(request);
+		if (client != null) {
+			check(clients, client, "Too many requests from this client, please retry later.");
+		}
+	}
+
+	/**
+	 * Takes a token for a sender.
+	 *
+	 * @param sender the sender public key; ignored when {@code null}.
+	 * @throws TooManyRequestsException if the sender is over its limit.
+	 */
+	public void checkSender(String sender) {
+		if (enabled && sender != null) {
+			check(senders, sender, "Too many requests from this sender, please retry later.");
+		}
+	}
+
+	private static void check(TokenBucketLimiter limiter, String key, String message) {
+		long waitNanos = limiter.tryAcquire(key);
+		if (waitNanos > 0) {
+			throw new TooManyRequestsException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)), message);
+		}
+	}
+
+	/**
+	 * Returns the client address of a request, without the port.
+	 */
+	private String clientOf(RestRequest request) {
+		if (!clientHeader.isEmpty()) {
+			String forwarded = request.getHeader(clientHeader);
+			if (forwarded != null && !forwarded.isBlank()) {
+				int comma = forwarded.indexOf(',');
+				return (comma < 0 ? forwarded : forwarded.substring(0, comma)).strip();
+			}
+		}
+
+		String address = request.getRemoteAddress();
+		if (address == null) {
+			return null;
+		}
+		int from = address.startsWith("/") ? 1 : 0;
+		int to = address.length();
+		int colon = address.lastIndexOf(':');
+		if (colon > from && (address.indexOf(':', from) == colon || address.charAt(colon - 1) == ']')) {
+			// IPv4 or bracketed IPv6 followed by a port
+			to = colon;
+		}
+		return from == 0 && to == address.length() ? address : address.substring(from, to);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public List<Map<String, Object>> getStats() {
+		return List.of(clients.getStats(), senders.getStats());
+	}
+}
@@ -0,0 +1,24 @@
+package org.norsh.api.limits;
+
+/**
+ * Classes of routes isolated from each other by the {@link Bulkheads}, in dispatch priority order.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public enum RouteClass {
+	/** Cheap, latency-sensitive lookups such as {@code GET /v1/elements/{id}}. */
+	READ,
+	/** CPU-bound key and address generation. */
+	CRYPTO,
+	/** Writes forwarded to the blockchain, including bulk submissions. */
+	WRITE;
+
+	private final String label = name().toLowerCase();
+
+	public String getLabel() {
+		return label;
+	}
+}
@@ -0,0 +1,154 @@
+package org.norsh.api.limits;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket rate limiter with one bucket per key, in bounded memory.
+ * <p>
+ * Each bucket is a single {@code long}: the time at which it will be full again, as in the generic cell rate algorithm.
+ * Taking a token is one compare-and-set that moves that time forward by the interval between tokens; a request is
+ * refused when it would move it further than the burst allows. A bucket whose time has passed is full, so it holds no
+ * information; once it has stayed full for a second, its slot can be reused by another key. This is how idle keys are
+ * evicted, without a sweeper thread.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Keys are hashed into a fixed table of {@code maxKeys} slots, probed four at a time; memory does not grow with the
+ * number of clients.</li>
+ * <li>When the four slots of a key are held by other active keys, the request is let through and counted as
+ * {@code overflow}, so a full table never throttles legitimate clients.</li>
+ * <li>Neither taking a token nor refusing one allocates; only a new key does.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class TokenBucketLimiter {
+	private static final int WAYS = 4;
+	private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private static final class Bucket {
+		private final String key;
+		private final AtomicLong fullAt;
+
+		private Bucket(String key, long fullAt) {
+			this.key = key;
+			this.fullAt = new AtomicLong(fullAt);
+		}
+	}
+
+	private final String name;
+	private final long intervalNanos;
+	private final long burstNanos;
+	private final AtomicReferenceArray<Bucket> buckets;
+	private final int mask;
+
+	private final LongAdder allowed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder evicted = new LongAdder();
+	private final LongAdder overflow = new LongAdder();
+
+	/**
+	 * @param name          the name reported in the stats.
+	 * @param ratePerSecond the tokens added to a bucket per second.
+	 * @param burst         the capacity of a bucket.
+	 * @param maxKeys       the number of buckets kept, rounded up to a power of two.
+	 */
+	public TokenBucketLimiter(String name, double ratePerSecond, int burst, int maxKeys) {
+		this.name = name;
+		this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+		this.burstNanos = intervalNanos * Math.max(1, burst);
+		int size = Integer.highestOneBit(Math.max(WAYS, maxKeys - 1)) << 1;
+		this.buckets = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Takes a token from the bucket of {@code key}.
+	 *
+	 * @return {@code 0} if the request may proceed, otherwise the nanoseconds until a token is available.
+	 */
+	public long tryAcquire(String key) {
+		long now = System.nanoTime();
+		Bucket bucket = find(key, now);
+		if (bucket == null) {
+			overflow.increment();
+			return 0;
+		}
+
+		AtomicLong fullAt = bucket.fullAt;
+		while (true) {
+			long current = fullAt.get();
+			long next = Math.max(current, now) + intervalNanos;
+			long excess = next - now - burstNanos;
+			if (excess > 0) {
+				rejected.increment();
+				return excess;
+			}
+			if (fullAt.compareAndSet(current, next)) {
+				allowed.increment();
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Finds the bucket of a key, creating it in a free or idle slot when missing.
+	 *
+	 * @return the bucket, or {@code null} if all the slots of the key are held by active keys.
+	 */
+	private Bucket find(String key, long now) {
+		// Addresses and keys have clustered hash codes; scramble them before probing neighbouring slots
+		int hash = key.hashCode() * 0x9E3779B9;
+		int start = (hash ^ (hash >>> 16)) & mask;
+
+		int reusable = -1;
+		Bucket previous = null;
+		for (int i = 0; i < WAYS; i++) {
+			int index = (start + i) & mask;
+			Bucket bucket = buckets.get(index);
+			if (bucket != null && bucket.key.equals(key)) {
+				return bucket;
+			}
+			if (reusable < 0 && (bucket == null || bucket.fullAt.get() + IDLE_NANOS - now <= 0)) {
+				reusable = index;
+				previous = bucket;
+			}
+		}
+		if (reusable < 0) {
+			return null;
+		}
+
+		Bucket created = new Bucket(key, now);
+		if (buckets.compareAndSet(reusable, previous, created)) {
+			if (previous != null) {
+				evicted.increment();
+			}
+			return created;
+		}
+		// Another thread took the slot first; it may have been for the same key
+		Bucket winner = buckets.get(reusable);
+		return winner != null && winner.key.equals(key) ? winner : find(key, now);
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("name", name);
+		stats.put("ratePerSecond", (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos);
+		stats.put("burst", burstNanos / intervalNanos);
+		stats.put("maxKeys", buckets.length());
+		stats.put("allowed", allowed.sum());
+		stats.put("rejected", rejected.sum());
+		stats.put("evicted", evicted.sum());
+		stats.put("overflow", overflow.sum());
+		return stats;
+	}
+}
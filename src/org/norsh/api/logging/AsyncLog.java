@@ -0,0 +1,274 @@
+package org.norsh.api.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.util.Log;
+
+/**
+ * Asynchronous front of the API's {@link Log}.
+ * <p>
+ * Request threads copy each record into a slot of a bounded, lock-free {@link LogRing}; a single background thread
+ * drains it, formats the lines and hands them to the shared {@link Log}, which applies the {@code log} block of
+ * {@code api.json} (files, rotation, {@code level}, {@code sysout}). No logging I/O happens on the request path.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>One access line per request, logged as info, in JSON: route, status, total, local and upstream durations in
+ * milliseconds, and response bytes when the handler knows them.</li>
+ * <li>Stack traces are logged as errors, other messages as system messages.</li>
+ * <li>When the ring is full, records are dropped and counted ({@code drop}) or the request thread waits for a free slot
+ * ({@code block}).</li>
+ * </ul>
+ *
+ * <h2>Configuration ({@code log} block of {@code api.json}):</h2>
+ * <ul>
+ * <li>{@code access}: whether requests are logged.</li>
+ * <li>{@code bufferSize}: slots of the ring, rounded up to a power of two.</li>
+ * <li>{@code overflow}: {@code drop} or {@code block}.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public final class AsyncLog {
+	private static final AsyncLog instance = new AsyncLog();
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+	private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private final boolean accessEnabled;
+	private final boolean block;
+	private final LogRing ring;
+	private final Log log;
+	private final Thread writer;
+	private final StringBuilder line = new StringBuilder(256);
+
+	private volatile boolean idle;
+	private volatile boolean closing;
+
+	private final LongAdder written = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder blocked = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+
+	private AsyncLog() {
+		ApiConfig config = ApiConfig.getInstance();
+		accessEnabled = config.getBoolean("log.access", true);
+		block = "block".equalsIgnoreCase(config.getString("log.overflow", "drop"));
+		ring = new LogRing(config.getInt("log.bufferSize", 16_384));
+		log = new Log(config.getLogConfig());
+
+		writer = Thread.ofPlatform().name("async-log").daemon().start(this::drain);
+		Runtime.getRuntime().addShutdownHook(new Thread(this::close, "async-log-shutdown"));
+	}
+
+	public static AsyncLog getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Returns the {@link Log} this writes to, for code that logs synchronously, such as startup messages.
+	 */
+	public Log getLog() {
+		return log;
+	}
+
+	public boolean isAccessEnabled() {
+		return accessEnabled;
+	}
+
+	/**
+	 * Logs a served request.
+	 *
+	 * @param route         the route label, e.g. {@code GET /v1/elements/{id}}.
+	 * @param status        the HTTP status answered.
+	 * @param durationNanos the whole handler duration.
+	 * @param upstreamNanos the part of it spent waiting for the blockchain.
+	 * @param bytes         the size of the response body, or {@code -1} if unknown.
+	 */
+	public void access(String route, int status, long durationNanos, long upstreamNanos, long bytes) {
+		if (!accessEnabled) {
+			return;
+		}
+		long position = claim();
+		if (position < 0) {
+			return;
+		}
+		LogEntry entry = ring.entry(position);
+		entry.access = true;
+		entry.timeMillis = System.currentTimeMillis();
+		entry.route = route;
+		entry.status = status;
+		entry.durationNanos = durationNanos;
+		entry.upstreamNanos = upstreamNanos;
+		entry.bytes = bytes;
+		publish(position);
+	}
+
+	/**
+	 * Logs a system message, with the stack trace of {@code error} when not {@code null}.
+	 *
+	 * @return {@code false} if the message was dropped because the ring is full.
+	 */
+	public boolean system(String message, Throwable error) {
+		long position = claim();
+		if (position < 0) {
+			return false;
+		}
+		LogEntry entry = ring.entry(position);
+		entry.access = false;
+		entry.timeMillis = System.currentTimeMillis();
+		entry.message = message;
+		entry.error = error;
+		publish(position);
+		return true;
+	}
+
+	private long claim() {
+		long position = ring.claim();
+		if (position >= 0) {
+			return position;
+		}
+		if (!block || closing) {
+			dropped.increment();
+			return -1;
+		}
+
+		blocked.increment();
+		do {
+			LockSupport.unpark(writer);
+			LockSupport.parkNanos(FULL_PARK_NANOS);
+			position = ring.claim();
+		} while (position < 0);
+		return position;
+	}
+
+	private void publish(long position) {
+		ring.publish(position);
+		if (idle) {
+			LockSupport.unpark(writer);
+		}
+	}
+
+	private void drain() {
+		while (true) {
+			long position = ring.poll();
+			if (position < 0) {
+				if (closing) {
+					return;
+				}
+				idle = true;
+				if (ring.poll() < 0) {
+					LockSupport.parkNanos(IDLE_PARK_NANOS);
+				}
+				idle = false;
+				continue;
+			}
+
+			LogEntry entry = ring.entry(position);
+			try {
+				if (entry.access) {
+					log.info(formatAccess(entry));
+				} else if (entry.error != null) {
+					log.error(formatSystem(entry));
+				} else {
+					log.system(formatSystem(entry));
+				}
+				written.increment();
+			} catch (RuntimeException e) {
+				failed.increment();
+			}
+			ring.release(position);
+		}
+	}
+
+	private String formatAccess(LogEntry entry) {
+		line.setLength(0);
+		line.append("{\"time\":\"").append(Instant.ofEpochMilli(entry.timeMillis)).append("\",\"route\":\"");
+		escape(entry.route);
+		line.append("\",\"status\":").append(entry.status);
+		line.append(",\"durationMs\":");
+		millis(entry.durationNanos);
+		line.append(",\"localMs\":");
+		millis(Math.max(0, entry.durationNanos - entry.upstreamNanos));
+		line.append(",\"upstreamMs\":");
+		millis(entry.upstreamNanos);
+		line.append(",\"bytes\":").append(entry.bytes).append('}');
+		return line.toString();
+	}
+
+	private String formatSystem(LogEntry entry) {
+		line.setLength(0);
+		if (entry.message != null) {
+			line.append(entry.message);
+		}
+		if (entry.error != null) {
+			StringWriter trace = new StringWriter();
+			entry.error.printStackTrace(new PrintWriter(trace));
+			if (entry.message != null) {
+				line.append('\n');
+			}
+			line.append(trace.getBuffer(), 0, trace.getBuffer().length() - System.lineSeparator().length());
+		}
+		return line.toString();
+	}
+
+	private void millis(long nanos) {
+		line.append(nanos / 1_000_000).append('.');
+		long micros = nanos / 1_000 % 1_000;
+		if (micros < 100) {
+			line.append('0');
+		}
+		if (micros < 10) {
+			line.append('0');
+		}
+		line.append(micros);
+	}
+
+	private void escape(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				line.append('\\').append(c);
+			} else if (c >= ' ') {
+				line.append(c);
+			}
+		}
+	}
+
+	/**
+	 * Writes what is left in the ring; called once on shutdown.
+	 */
+	private void close() {
+		closing = true;
+		LockSupport.unpark(writer);
+		try {
+			writer.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			// Shutting down; nothing left to report to
+		}
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("capacity", ring.capacity());
+		stats.put("queued", ring.size());
+		stats.put("overflow", block ? "block" : "drop");
+		stats.put("written", written.sum());
+		stats.put("dropped", dropped.sum());
+		stats.put("blocked", blocked.sum());
+		stats.put("failed", failed.sum());
+		return stats;
+	}
+}
@@ -0,0 +1,32 @@
+package org.norsh.api.logging;
+
+/**
+ * Reusable slot of the {@link LogRing}: either an access record or a system message.
+ * <p>
+ * Request threads only copy values into the slot; the line is formatted by the writer thread.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+final class LogEntry {
+	boolean access;
+	long timeMillis;
+
+	String route;
+	int status;
+	long durationNanos;
+	long upstreamNanos;
+	long bytes;
+
+	String message;
+	Throwable error;
+
+	void clear() {
+		route = null;
+		message = null;
+		error = null;
+	}
+}
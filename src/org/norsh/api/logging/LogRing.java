@@ -0,0 +1,106 @@
+package org.norsh.api.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring of preallocated {@link LogEntry} slots, written by many threads and read by one.
+ * <p>
+ * A producer claims a position with a single compare-and-set on the tail, fills the slot in place and publishes it by
+ * advancing the slot's sequence; the consumer reads published slots in order and hands them back by moving their
+ * sequence one lap ahead. Neither side takes a lock or allocates.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+final class LogRing {
+	private final LogEntry[] entries;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	private long head;
+
+	/**
+	 * @param capacity the number of slots, rounded up to a power of two.
+	 */
+	LogRing(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		entries = new LogEntry[size];
+		sequences = new AtomicLongArray(size);
+		mask = size - 1;
+		for (int i = 0; i < size; i++) {
+			entries[i] = new LogEntry();
+			sequences.set(i, i);
+		}
+	}
+
+	int capacity() {
+		return entries.length;
+	}
+
+	/**
+	 * Claims the next free slot.
+	 *
+	 * @return the claimed position, or {@code -1} if the ring is full.
+	 */
+	long claim() {
+		while (true) {
+			long position = tail.get();
+			long sequence = sequences.get((int) position & mask);
+			if (sequence == position) {
+				if (tail.compareAndSet(position, position + 1)) {
+					return position;
+				}
+			} else if (sequence < position) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Returns the slot of a claimed or polled position.
+	 */
+	LogEntry entry(long position) {
+		return entries[(int) position & mask];
+	}
+
+	/**
+	 * Makes a filled slot visible to the consumer.
+	 */
+	void publish(long position) {
+		sequences.set((int) position & mask, position + 1);
+	}
+
+	/**
+	 * Returns the position of the next published slot, or {@code -1} if there is none. Consumer only.
+	 */
+	long poll() {
+		return sequences.get((int) head & mask) == head + 1 ? head : -1;
+	}
+
+	/**
+	 * Hands the slot returned by {@link #poll()} back to the producers. Consumer only.
+	 */
+	void release(long position) {
+		entries[(int) position & mask].clear();
+		sequences.set((int) position & mask, position + entries.length);
+		head = position + 1;
+	}
+
+	/**
+	 * Tells whether entries are waiting to be read.
+	 */
+	boolean isEmpty() {
+		return tail.get() == head;
+	}
+
+	/**
+	 * Returns the approximate number of waiting entries; safe to call from any thread.
+	 */
+	int size() {
+		return (int) Math.max(0, tail.get() - head);
+	}
+}
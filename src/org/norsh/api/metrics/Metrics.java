@@ -0,0 +1,134 @@
+package org.norsh.api.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.norsh.api.limits.Bulkheads;
+import org.norsh.api.limits.RouteClass;
+
+/**
+ * Registry of the API metrics.
+ * <p>
+ * Holds the per-route {@link RouteMetrics} and the counters of upstream outcomes, and renders them in the Prometheus text
+ * exposition format. Recording never allocates once a route or status has been seen.
+ * </p>
+ *
+ * <h2>Exported series:</h2>
+ * <ul>
+ * <li>{@code norsh_api_phase_seconds{route, phase, quantile}}: summary of the time spent per route and phase.</li>
+ * <li>{@code norsh_api_upstream_status_total{status}}: upstream answers by {@code DataTransfer} status.</li>
+ * <li>{@code norsh_api_upstream_failures_total}: upstream calls that failed without an answer.</li>
+ * <li>{@code norsh_api_upstream_abandoned_total}: upstream calls cancelled because every request waiting for them gave up.</li>
+ * <li>{@code norsh_api_bulkhead_active{class}}, {@code norsh_api_bulkhead_queue_depth{class}} and
+ * {@code norsh_api_bulkhead_rejected_total{class}}: load of the {@link Bulkheads} per route class.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class Metrics {
+	private static final Metrics instance = new Metrics();
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+	private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> upstreamStatuses = new ConcurrentHashMap<>();
+	private final LongAdder upstreamFailures = new LongAdder();
+	private final LongAdder upstreamAbandoned = new LongAdder();
+
+	public static Metrics getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Returns the metrics of a route, creating them on first use.
+	 *
+	 * @param route the route label, e.g. {@code POST /v1/payments/generate}.
+	 */
+	public RouteMetrics route(String route) {
+		return routes.computeIfAbsent(route, RouteMetrics::new);
+	}
+
+	/**
+	 * Counts an upstream answer by its transfer status.
+	 */
+	public void recordUpstreamStatus(Enum<?> status) {
+		upstreamStatuses.computeIfAbsent(status.name(), name -> new LongAdder()).increment();
+	}
+
+	public void recordUpstreamFailure() {
+		upstreamFailures.increment();
+	}
+
+	/**
+	 * Counts an upstream call cancelled because nobody waited for its answer anymore.
+	 */
+	public void recordUpstreamAbandoned() {
+		upstreamAbandoned.increment();
+	}
+
+	/**
+	 * Renders all metrics in the Prometheus text exposition format (version 0.0.4).
+	 */
+	public String toPrometheus() {
+		StringBuilder out = new StringBuilder(4096);
+
+		out.append("# HELP norsh_api_phase_seconds Time spent per route and phase.\n");
+		out.append("# TYPE norsh_api_phase_seconds summary\n");
+		for (RouteMetrics metrics : new TreeMap<>(routes).values()) {
+			for (Phase phase : Phase.values()) {
+				Histogram histogram = metrics.get(phase);
+				if (histogram.getCount() == 0) {
+					continue;
+				}
+
+				String labels = "route=\"" + metrics.getRoute() + "\",phase=\"" + phase.getLabel() + "\"";
+				for (double quantile : QUANTILES) {
+					out.append("norsh_api_phase_seconds{").append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+							.append(seconds(histogram.getValueAtQuantile(quantile))).append('\n');
+				}
+				out.append("norsh_api_phase_seconds_sum{").append(labels).append("} ").append(seconds(histogram.getSum())).append('\n');
+				out.append("norsh_api_phase_seconds_count{").append(labels).append("} ").append(histogram.getCount()).append('\n');
+			}
+		}
+
+		out.append("# HELP norsh_api_upstream_status_total Upstream answers by transfer status.\n");
+		out.append("# TYPE norsh_api_upstream_status_total counter\n");
+		new TreeMap<>(upstreamStatuses).forEach((status, counter) ->
+				out.append("norsh_api_upstream_status_total{status=\"").append(status).append("\"} ").append(counter.sum()).append('\n'));
+
+		out.append("# HELP norsh_api_upstream_failures_total Upstream calls that failed without an answer.\n");
+		out.append("# TYPE norsh_api_upstream_failures_total counter\n");
+		out.append("norsh_api_upstream_failures_total ").append(upstreamFailures.sum()).append('\n');
+
+		out.append("# HELP norsh_api_upstream_abandoned_total Upstream calls cancelled because every request waiting for them gave up.\n");
+		out.append("# TYPE norsh_api_upstream_abandoned_total counter\n");
+		out.append("norsh_api_upstream_abandoned_total ").append(upstreamAbandoned.sum()).append('\n');
+
+		Bulkheads bulkheads = Bulkheads.getInstance();
+		out.append("# HELP norsh_api_bulkhead_active Requests running per route class.\n");
+		out.append("# TYPE norsh_api_bulkhead_active gauge\n");
+		for (RouteClass routeClass : RouteClass.values()) {
+			out.append("norsh_api_bulkhead_active{class=\"").append(routeClass.getLabel()).append("\"} ").append(bulkheads.getActive(routeClass)).append('\n');
+		}
+		out.append("# HELP norsh_api_bulkhead_queue_depth Requests waiting for a slot per route class.\n");
+		out.append("# TYPE norsh_api_bulkhead_queue_depth gauge\n");
+		for (RouteClass routeClass : RouteClass.values()) {
+			out.append("norsh_api_bulkhead_queue_depth{class=\"").append(routeClass.getLabel()).append("\"} ").append(bulkheads.getQueueDepth(routeClass)).append('\n');
+		}
+		out.append("# HELP norsh_api_bulkhead_rejected_total Requests refused by a full or timed-out bulkhead.\n");
+		out.append("# TYPE norsh_api_bulkhead_rejected_total counter\n");
+		for (RouteClass routeClass : RouteClass.values()) {
+			out.append("norsh_api_bulkhead_rejected_total{class=\"").append(routeClass.getLabel()).append("\"} ").append(bulkheads.getRejected(routeClass)).append('\n');
+		}
+
+		return out.toString();
+	}
+
+	private static double seconds(long nanos) {
+		return nanos / 1e9;
+	}
+}
@@ -0,0 +1,28 @@
+package org.norsh.api.metrics;
+
+/**
+ * Timed phases of a request.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public enum Phase {
+	/** Reading the request body into its DTO. */
+	PARSE,
+	/** Running {@code validate()} on the DTO. */
+	VALIDATE,
+	/** Serializing the transfer for the upstream. */
+	SERIALIZE,
+	/** Waiting for the blockchain upstream. */
+	UPSTREAM,
+	/** The whole handler, from the first instrumented step to the populated response. */
+	HANDLER;
+
+	private final String label = name().toLowerCase();
+
+	public String getLabel() {
+		return label;
+	}
+}
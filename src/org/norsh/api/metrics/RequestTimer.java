@@ -0,0 +1,113 @@
+package org.norsh.api.metrics;
+
+import org.norsh.api.logging.AsyncLog;
+import org.norsh.api.routes.RouteTable;
+import org.norsh.api.routes.RouteTable.Route;
+import org.norsh.rest.RestRequest;
+
+/**
+ * Tracks the route and start time of the request being handled on the current thread.
+ * <p>
+ * Every handler calls {@link #begin} as its first statement, before reading the body, so the recorded duration covers
+ * everything from handler dispatch to the response: body parsing, validation, the upstream round trip and rendering.
+ * Routing done by the HTTP server before the handler is invoked is not included. {@link #begin} resolves the route
+ * through the {@link RouteTable}; {@link #finish} records the whole handler duration and writes the access line of the
+ * request to the {@link AsyncLog}.
+ * </p>
+ * <p>
+ * State is kept in a per-thread holder. Handlers run on virtual threads ({@code server.virtualThreads}), so that is one
+ * small holder per request rather than a reused one.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public final class RequestTimer {
+	private static final ThreadLocal<RequestTimer> current = ThreadLocal.withInitial(RequestTimer::new);
+
+	private RestRequest request;
+	private Route route;
+	private RouteMetrics metrics;
+	private long start;
+	private long upstreamNanos;
+
+	private RequestTimer() {
+	}
+
+	/**
+	 * Starts timing {@code request} unless it is already being timed on this thread.
+	 *
+	 * @return the metrics of the request's route, or {@code null} if the route is unknown.
+	 */
+	public static RouteMetrics begin(RestRequest request) {
+		RequestTimer timer = current.get();
+		if (timer.request != request) {
+			timer.request = request;
+			timer.start = System.nanoTime();
+			timer.upstreamNanos = 0;
+			timer.route = RouteTable.getInstance().resolve(request.getRestMethod(), request.getPath());
+			timer.metrics = timer.route == null ? null : timer.route.metrics();
+		}
+		return timer.metrics;
+	}
+
+	/**
+	 * Returns the {@link System#nanoTime()} at which handling of {@code request} started.
+	 */
+	public static long startOf(RestRequest request) {
+		begin(request);
+		return current.get().start;
+	}
+
+	/**
+	 * Records the duration of a phase that started at {@code startNanos}.
+	 */
+	public static void record(RestRequest request, Phase phase, long startNanos) {
+		RouteMetrics metrics = begin(request);
+		if (metrics != null) {
+			metrics.record(phase, startNanos);
+		}
+	}
+
+	/**
+	 * Adds the time since {@code startNanos}, spent by the handler waiting for the blockchain, to the upstream share of
+	 * the request in its access line.
+	 */
+	public static void recordUpstreamWait(RestRequest request, long startNanos) {
+		begin(request);
+		current.get().upstreamNanos += System.nanoTime() - startNanos;
+	}
+
+	/**
+	 * Records the whole handler duration, logs the access line with the given status and releases the request. For
+	 * bodies left to the HTTP server to serialize, whose size is not known here.
+	 */
+	public static void finish(RestRequest request, int status) {
+		finish(request, status, -1);
+	}
+
+	/**
+	 * Records the whole handler duration, logs the access line with the given status and response size, and releases
+	 * the request.
+	 *
+	 * @param bytes the size of the response body, or {@code -1} if unknown.
+	 */
+	public static void finish(RestRequest request, int status, long bytes) {
+		RequestTimer timer = current.get();
+		if (timer.request == request) {
+			long duration = System.nanoTime() - timer.start;
+			if (timer.metrics != null) {
+				timer.metrics.record(Phase.HANDLER, timer.start);
+			}
+			if (AsyncLog.getInstance().isAccessEnabled()) {
+				String label = timer.route != null ? timer.route.label() : request.getRestMethod() + " " + request.getPath();
+				AsyncLog.getInstance().access(label, status, duration, timer.upstreamNanos, bytes);
+			}
+		}
+		timer.request = null;
+		timer.route = null;
+		timer.metrics = null;
+	}
+}
@@ -0,0 +1,36 @@
+package org.norsh.api.metrics;
+
+/**
+ * Per-route histograms, one per {@link Phase}.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class RouteMetrics {
+	private final String route;
+	private final Histogram[] phases = new Histogram[Phase.values().length];
+
+	RouteMetrics(String route) {
+		this.route = route;
+		for (int i = 0; i < phases.length; i++) {
+			phases[i] = new Histogram();
+		}
+	}
+
+	public String getRoute() {
+		return route;
+	}
+
+	public Histogram get(Phase phase) {
+		return phases[phase.ordinal()];
+	}
+
+	/**
+	 * Records the time elapsed since {@code startNanos} for a phase.
+	 */
+	public void record(Phase phase, long startNanos) {
+		phases[phase.ordinal()].record(System.nanoTime() - startNanos);
+	}
+}
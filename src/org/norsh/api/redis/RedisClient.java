@@ -0,0 +1,237 @@
+package org.norsh.api.redis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Minimal Redis client speaking RESP2 over pooled blocking sockets.
+ * <p>
+ * Supports the few commands the API needs and nothing more, avoiding a client library dependency. Connections are
+ * borrowed per command and returned afterwards; a connection that fails is discarded. Blocking I/O is cheap on the
+ * virtual threads the API runs its exchanges on.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>{@code GET}, {@code SET} with a millisecond expiry, {@code DEL} and {@code PING}.</li>
+ * <li>Idle connections are kept up to {@code maxIdle} and reused.</li>
+ * <li>Redis error replies are raised as {@link IOException}.</li>
+ * <li>{@code MOVED} redirections from a cluster endpoint are followed, with a client per redirected node.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class RedisClient {
+	private final String host;
+	private final int port;
+	private final int timeoutMs;
+	private final int maxIdle;
+	private final ConcurrentLinkedQueue<Connection> idle = new ConcurrentLinkedQueue<>();
+	private final Map<String, RedisClient> nodes = new ConcurrentHashMap<>();
+
+	public RedisClient(String host, int port, int timeoutMs, int maxIdle) {
+		this.host = host;
+		this.port = port;
+		this.timeoutMs = timeoutMs;
+		this.maxIdle = maxIdle;
+	}
+
+	public String get(String key) throws IOException {
+		return (String) execute("GET", key);
+	}
+
+	public void set(String key, String value, long ttlMs) throws IOException {
+		execute("SET", key, value, "PX", String.valueOf(ttlMs));
+	}
+
+	public void del(String key) throws IOException {
+		execute("DEL", key);
+	}
+
+	public String ping() throws IOException {
+		return (String) execute("PING");
+	}
+
+	/**
+	 * Sends a command and returns its reply: a {@link String} for simple and bulk strings (or {@code null}), a
+	 * {@link Long} for integers.
+	 */
+	public Object execute(String... command) throws IOException {
+		Connection connection = idle.poll();
+		if (connection == null) {
+			connection = new Connection();
+		}
+
+		Object reply;
+		try {
+			reply = connection.call(command);
+		} catch (IOException | RuntimeException e) {
+			connection.close();
+			throw e;
+		}
+
+		if (idle.size() < maxIdle) {
+			idle.offer(connection);
+		} else {
+			connection.close();
+		}
+
+		if (reply instanceof Moved moved) {
+			return nodes.computeIfAbsent(moved.node(), node -> {
+				int colon = node.lastIndexOf(':');
+				return new RedisClient(node.substring(0, colon), Integer.parseInt(node.substring(colon + 1)), timeoutMs, maxIdle);
+			}).execute(command);
+		}
+		return reply;
+	}
+
+	/**
+	 * A cluster redirection to the node owning the key's slot.
+	 */
+	private record Moved(String node) {
+	}
+
+	private final class Connection {
+		private final Socket socket;
+		private final InputStream in;
+		private final OutputStream out;
+
+		Connection() throws IOException {
+			socket = new Socket();
+			socket.connect(new InetSocketAddress(host, port), timeoutMs);
+			socket.setSoTimeout(timeoutMs);
+			socket.setTcpNoDelay(true);
+			in = new BufferedInputStream(socket.getInputStream());
+			out = new BufferedOutputStream(socket.getOutputStream());
+		}
+
+		Object call(String... command) throws IOException {
+			writeCommand(out, command);
+			out.flush();
+			try {
+				return readReply(in);
+			} catch (RedisErrorException e) {
+				if (e.getReply().startsWith("MOVED ")) {
+					return new Moved(e.getReply().substring(e.getReply().lastIndexOf(' ') + 1));
+				}
+				throw e;
+			}
+		}
+
+		void close() {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// Already broken
+			}
+		}
+	}
+
+	/**
+	 * Writes a command as a RESP array of bulk strings.
+	 */
+	public static void writeCommand(OutputStream out, String... command) throws IOException {
+		out.write(("*" + command.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		for (String arg : command) {
+			writeBulk(out, arg);
+		}
+	}
+
+	/**
+	 * Writes a RESP bulk string, or the null bulk string.
+	 */
+	public static void writeBulk(OutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.write(bytes);
+		out.write('\r');
+		out.write('\n');
+	}
+
+	/**
+	 * Reads one RESP reply; arrays are returned as {@code Object[]}.
+	 */
+	public static Object readReply(InputStream in) throws IOException {
+		int type = in.read();
+		if (type < 0) {
+			throw new EOFException("Redis connection closed.");
+		}
+
+		String line = readLine(in);
+		return switch (type) {
+			case '+' -> line;
+			case '-' -> throw new RedisErrorException(line);
+			case ':' -> Long.parseLong(line);
+			case '$' -> {
+				int length = Integer.parseInt(line);
+				if (length < 0) {
+					yield null;
+				}
+				byte[] bytes = in.readNBytes(length);
+				readLine(in);
+				yield new String(bytes, StandardCharsets.UTF_8);
+			}
+			case '*' -> {
+				int count = Integer.parseInt(line);
+				if (count < 0) {
+					yield null;
+				}
+				Object[] items = new Object[count];
+				for (int i = 0; i < count; i++) {
+					items[i] = readReply(in);
+				}
+				yield items;
+			}
+			default -> throw new IOException("Unexpected RESP type: " + (char) type);
+		};
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream(16);
+		int b;
+		while ((b = in.read()) != '\r') {
+			if (b < 0) {
+				throw new EOFException("Redis connection closed.");
+			}
+			line.write(b);
+		}
+		in.read();
+		return line.toString(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A Redis error reply. The connection remains usable.
+	 */
+	public static class RedisErrorException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		private final String reply;
+
+		public RedisErrorException(String reply) {
+			super("Redis error: " + reply);
+			this.reply = reply;
+		}
+
+		public String getReply() {
+			return reply;
+		}
+	}
+}
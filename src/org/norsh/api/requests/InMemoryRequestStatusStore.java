@@ -0,0 +1,33 @@
+package org.norsh.api.requests;
+
+import org.norsh.api.cache.ExpiringCache;
+
+/**
+ * {@link RequestStatusStore} kept in an {@link ExpiringCache} on this instance.
+ * <p>
+ * Statuses are only visible to clients polling the same instance that accepted the request; use
+ * {@link RedisRequestStatusStore} when several instances share the traffic.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class InMemoryRequestStatusStore implements RequestStatusStore {
+	private final ExpiringCache<String, RequestStatus> statuses;
+
+	public InMemoryRequestStatusStore(int maxSize, long ttlMs) {
+		this.statuses = new ExpiringCache<>("requests", maxSize, ttlMs, false);
+	}
+
+	@Override
+	public void put(RequestStatus status) {
+		statuses.put(status.requestId(), status);
+	}
+
+	@Override
+	public RequestStatus get(String requestId) {
+		return statuses.get(requestId);
+	}
+}
@@ -0,0 +1,56 @@
+package org.norsh.api.requests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.redis.RedisClient;
+import org.norsh.util.Converter;
+
+/**
+ * {@link RequestStatusStore} backed by Redis, so any instance can answer a status poll.
+ * <p>
+ * Statuses are stored as JSON under {@code norsh:request:<requestId>} with a {@code PX} expiry. The connection is
+ * configured by the {@code redis} block of {@code api.json} ({@code host}, {@code port}, {@code timeoutMs},
+ * {@code maxIdle}).
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class RedisRequestStatusStore implements RequestStatusStore {
+	private static final String PREFIX = "norsh:request:";
+
+	private final RedisClient redis;
+	private final long ttlMs;
+
+	public RedisRequestStatusStore(String host, int port, long ttlMs) {
+		this(new RedisClient(host, port, ApiConfig.getInstance().getInt("redis.timeoutMs", 2000), ApiConfig.getInstance().getInt("redis.maxIdle", 64)), ttlMs);
+	}
+
+	public RedisRequestStatusStore(RedisClient redis, long ttlMs) {
+		this.redis = redis;
+		this.ttlMs = ttlMs;
+	}
+
+	@Override
+	public void put(RequestStatus status) {
+		try {
+			redis.set(PREFIX + status.requestId(), Converter.toJson(status), ttlMs);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public RequestStatus get(String requestId) {
+		try {
+			String json = redis.get(PREFIX + requestId);
+			return json == null ? null : Converter.fromJson(json, RequestStatus.class);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
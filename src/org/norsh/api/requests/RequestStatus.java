@@ -0,0 +1,39 @@
+package org.norsh.api.requests;
+
+/**
+ * Outcome of a write accepted with HTTP 202, as served by {@code GET /v1/requests/{id}}.
+ *
+ * <h2>Example:</h2>
+ * <pre>
+ * { "requestId": "9f86d0...", "state": "COMPLETED", "status": 200, "data": { ... }, "updatedAt": 1735689600000 }
+ * </pre>
+ *
+ * @param requestId the request identifier (the DTO hash).
+ * @param state     {@code PENDING}, {@code COMPLETED} once the blockchain answered, or {@code FAILED} if it could not
+ *                  be reached.
+ * @param status    the HTTP status the synchronous call would have returned; 202 while pending.
+ * @param data      the response data, the error transfer, or an error message.
+ * @param updatedAt the time of the last update, in epoch milliseconds.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public record RequestStatus(String requestId, State state, int status, Object data, long updatedAt) {
+	public enum State {
+		PENDING, COMPLETED, FAILED
+	}
+
+	public static RequestStatus pending(String requestId) {
+		return new RequestStatus(requestId, State.PENDING, 202, null, System.currentTimeMillis());
+	}
+
+	public static RequestStatus completed(String requestId, int status, Object data) {
+		return new RequestStatus(requestId, State.COMPLETED, status, data, System.currentTimeMillis());
+	}
+
+	public static RequestStatus failed(String requestId, int status, String message) {
+		return new RequestStatus(requestId, State.FAILED, status, message, System.currentTimeMillis());
+	}
+}
@@ -0,0 +1,53 @@
+package org.norsh.api.requests;
+
+import org.norsh.api.config.ApiConfig;
+
+/**
+ * Storage for the status of requests accepted with HTTP 202.
+ * <p>
+ * Entries expire after {@code defaults.messagingTtlMs}. The implementation is selected by {@code requests.store} in
+ * {@code api.json}:
+ * </p>
+ * <ul>
+ * <li>{@code memory} (default): {@link InMemoryRequestStatusStore}, local to this instance.</li>
+ * <li>{@code redis}: {@link RedisRequestStatusStore}, shared by every instance behind the load balancer, using the
+ * {@code redis} block.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public interface RequestStatusStore {
+	/**
+	 * Stores or replaces the status of a request.
+	 */
+	void put(RequestStatus status);
+
+	/**
+	 * Returns the status of a request, or {@code null} if it is unknown or expired.
+	 */
+	RequestStatus get(String requestId);
+
+	/**
+	 * Returns the store configured in {@code api.json}.
+	 */
+	static RequestStatusStore getInstance() {
+		return StoreHolder.INSTANCE;
+	}
+
+	/**
+	 * Creates the store configured in {@code api.json}.
+	 */
+	static RequestStatusStore fromConfig() {
+		ApiConfig config = ApiConfig.getInstance();
+		long ttlMs = config.getLong("defaults.messagingTtlMs", 600_000);
+
+		return switch (config.getString("requests.store", "memory").toLowerCase()) {
+			case "memory" -> new InMemoryRequestStatusStore(config.getInt("requests.maxSize", 100_000), ttlMs);
+			case "redis" -> new RedisRequestStatusStore(config.getString("redis.host", "localhost"), config.getInt("redis.port", 6379), ttlMs);
+			default -> throw new IllegalArgumentException("Unknown requests.store: " + config.getString("requests.store", null));
+		};
+	}
+}
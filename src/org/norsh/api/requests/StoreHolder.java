@@ -0,0 +1,11 @@
+package org.norsh.api.requests;
+
+/**
+ * Lazily creates the shared {@link RequestStatusStore}.
+ */
+final class StoreHolder {
+	static final RequestStatusStore INSTANCE = RequestStatusStore.fromConfig();
+
+	private StoreHolder() {
+	}
+}
@@ -0,0 +1,184 @@
+package org.norsh.api.routes;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.norsh.api.metrics.Metrics;
+import org.norsh.api.metrics.RouteMetrics;
+import org.norsh.rest.RestMethod;
+import org.norsh.rest.annotations.Mapping;
+
+/**
+ * Table of the {@link Mapping} routes served by the API.
+ * <p>
+ * Endpoints are registered alongside their registration with the HTTP server. The table resolves a request method and
+ * path back to the route template it was dispatched to (e.g. {@code GET /v1/elements/{id}}), which keeps per-route
+ * metrics bounded regardless of path parameters. Dispatch itself stays with the HTTP server.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Routes are read from the endpoint's {@link Mapping} annotations once, at registration.</li>
+ * <li>Paths are matched segment by segment against a trie, so resolving costs one step per segment whatever the number
+ * of routes. Literal segments win over {@code {variables}} when both match.</li>
+ * <li>Matching is case-insensitive, like the server's own, and does not allocate.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class RouteTable {
+	private static final RouteTable instance = new RouteTable();
+
+	/**
+	 * A registered route.
+	 *
+	 * @param method   the HTTP method.
+	 * @param template the path template.
+	 * @param segments the template split on {@code /}; segments in braces match any value.
+	 * @param metrics  the metrics of the route.
+	 */
+	public record Route(RestMethod method, String template, String[] segments, RouteMetrics metrics) {
+		public String label() {
+			return method + " " + template;
+		}
+	}
+
+	/**
+	 * Trie node for one path segment; children are kept in small arrays so matching compares in place.
+	 */
+	private static final class Node {
+		private String[] literals = new String[0];
+		private Node[] children = new Node[0];
+		private Node variable;
+		private final Route[] routes = new Route[RestMethod.values().length];
+
+		private Node child(String segment) {
+			if (isVariable(segment)) {
+				if (variable == null) {
+					variable = new Node();
+				}
+				return variable;
+			}
+			for (int i = 0; i < literals.length; i++) {
+				if (literals[i].equalsIgnoreCase(segment)) {
+					return children[i];
+				}
+			}
+			literals = Arrays.copyOf(literals, literals.length + 1);
+			children = Arrays.copyOf(children, children.length + 1);
+			literals[literals.length - 1] = segment;
+			return children[children.length - 1] = new Node();
+		}
+	}
+
+	private volatile List<Route> routes = List.of();
+	private volatile Node root = new Node();
+
+	RouteTable() {
+	}
+
+	public static RouteTable getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Registers the {@link Mapping} methods of an endpoint class.
+	 */
+	public synchronized void register(Class<?> endpoint) {
+		Mapping base = endpoint.getAnnotation(Mapping.class);
+		String prefix = base == null ? "" : base.value();
+
+		List<Route> updated = new ArrayList<>(routes);
+		for (Method method : endpoint.getMethods()) {
+			Mapping mapping = method.getAnnotation(Mapping.class);
+			if (mapping != null) {
+				updated.add(create(mapping.method(), prefix + mapping.value()));
+			}
+		}
+
+		Node rebuilt = new Node();
+		for (Route route : updated) {
+			Node node = rebuilt;
+			for (String segment : route.segments()) {
+				node = node.child(segment);
+			}
+			if (node.routes[route.method().ordinal()] == null) {
+				node.routes[route.method().ordinal()] = route;
+			}
+		}
+
+		routes = List.copyOf(updated);
+		root = rebuilt;
+	}
+
+	/**
+	 * Creates a route and its metrics.
+	 */
+	public static Route create(RestMethod method, String template) {
+		String trimmed = template.replaceAll("^/+|/+$", "");
+		String[] segments = trimmed.isEmpty() ? new String[0] : trimmed.split("/+");
+		return new Route(method, template, segments, Metrics.getInstance().route(method + " " + template));
+	}
+
+	public List<Route> getRoutes() {
+		return routes;
+	}
+
+	/**
+	 * Finds the route serving a request.
+	 *
+	 * @param method the request method.
+	 * @param path   the request path, optionally with a query string.
+	 * @return the route, or {@code null} if none matches.
+	 */
+	public Route resolve(RestMethod method, String path) {
+		if (path == null || method == null) {
+			return null;
+		}
+
+		int end = path.indexOf('?');
+		if (end < 0) {
+			end = path.length();
+		}
+		int pos = 0;
+		while (pos < end && path.charAt(pos) == '/') {
+			pos++;
+		}
+		while (end > pos && path.charAt(end - 1) == '/') {
+			end--;
+		}
+		return find(root, path, pos, end, method.ordinal());
+	}
+
+	private static Route find(Node node, String path, int pos, int end, int method) {
+		if (pos >= end) {
+			return node.routes[method];
+		}
+
+		int next = path.indexOf('/', pos);
+		if (next < 0 || next > end) {
+			next = end;
+		}
+		int length = next - pos;
+
+		for (int i = 0; i < node.literals.length; i++) {
+			String literal = node.literals[i];
+			if (literal.length() == length && path.regionMatches(true, pos, literal, 0, length)) {
+				Route route = find(node.children[i], path, next + 1, end, method);
+				if (route != null) {
+					return route;
+				}
+			}
+		}
+		return node.variable == null ? null : find(node.variable, path, next + 1, end, method);
+	}
+
+	static boolean isVariable(String segment) {
+		return segment.length() > 1 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+	}
+}
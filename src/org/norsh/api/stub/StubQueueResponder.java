@@ -0,0 +1,57 @@
+package org.norsh.api.stub;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.norsh.api.transport.queue.MessageQueue;
+import org.norsh.api.transport.queue.MessageQueue.Message;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Local stand-in for the blockchain consumers behind a {@link MessageQueue}.
+ * <p>
+ * Consumes transfers from the request topic and publishes each one back to the reply topic, under the same key, with
+ * one of the configured statuses; the queue counterpart of the {@code StubBlockchainServer} under {@code bench/}.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class StubQueueResponder {
+	private final MessageQueue queue;
+	private final String requestTopic;
+	private final String replyTopic;
+	private final String[] statuses;
+
+	/**
+	 * @param statuses comma-separated transfer statuses to answer with; repeat a status to weight it.
+	 */
+	public StubQueueResponder(MessageQueue queue, String requestTopic, String replyTopic, String statuses) {
+		this.queue = queue;
+		this.requestTopic = requestTopic;
+		this.replyTopic = replyTopic;
+		this.statuses = statuses.split(",");
+	}
+
+	public void start() {
+		queue.subscribe(requestTopic, this::respond);
+	}
+
+	private void respond(List<Message> requests) {
+		List<Message> replies = new ArrayList<>(requests.size());
+		for (Message request : requests) {
+			JsonElement item = JsonParser.parseString(new String(request.value(), StandardCharsets.UTF_8));
+			JsonObject transfer = item.isJsonObject() ? item.getAsJsonObject() : new JsonObject();
+			transfer.addProperty("status", statuses[ThreadLocalRandom.current().nextInt(statuses.length)].strip());
+			replies.add(new Message(request.key(), transfer.toString().getBytes(StandardCharsets.UTF_8)));
+		}
+		queue.publish(replyTopic, replies);
+	}
+}
@@ -0,0 +1,563 @@
+package org.norsh.api.transport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.norsh.util.Converter;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.internal.bind.TypeAdapters;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Compact binary encoding of {@code DataTransfer} and the DTOs it carries, negotiated with the blockchain service by
+ * content type.
+ * <p>
+ * The encoding is a tagged, length-prefixed rendition of the JSON document {@link Converter} produces, the same one
+ * {@link JsonBodies} sends, so every type that travels as JSON travels in binary form unchanged, and a document
+ * round-trips to exactly the same JSON. Objects go through {@link Converter} both ways; the binary form is written
+ * from, and read back into, the JSON tree of that text.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Lowercase hex strings (hashes, keys, signatures) and canonical base64 strings are packed into their raw bytes,
+ * halving or quartering their size.</li>
+ * <li>Integers written in canonical form are zigzag varints; other numbers keep their exact decimal text.</li>
+ * <li>Each distinct property name is written once per document and referenced by index afterwards.</li>
+ * </ul>
+ *
+ * <h2>Layout:</h2>
+ * <pre>
+ * document := MAGIC VERSION value
+ * value    := NULL | FALSE | TRUE | INT varint | DOUBLE 8 bytes | DECIMAL text | STRING text
+ *           | HEX bytes | BASE64 bytes | OBJECT (name value)* END | ARRAY value* END
+ * name     := NAME text | NAME_REF varint
+ * text     := varint length, UTF-8 bytes
+ * bytes    := varint length, raw bytes
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see JsonBodies
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public final class BinaryCodec {
+	/** Content type of binary transfer bodies. */
+	public static final String CONTENT_TYPE = "application/x-norsh-transfer";
+
+	private static final byte MAGIC = 'N';
+	private static final byte VERSION = 1;
+
+	private static final byte NULL = 0;
+	private static final byte FALSE = 1;
+	private static final byte TRUE = 2;
+	private static final byte INT = 3;
+	private static final byte DOUBLE = 4;
+	private static final byte DECIMAL = 5;
+	private static final byte STRING = 6;
+	private static final byte HEX = 7;
+	private static final byte BASE64 = 8;
+	private static final byte OBJECT = 9;
+	private static final byte ARRAY = 10;
+	private static final byte END = 11;
+	private static final byte NAME = 12;
+	private static final byte NAME_REF = 13;
+
+	/** Strings shorter than this are kept as text; packing them saves too little to pay for the check. */
+	private static final int MIN_PACKED_LENGTH = 16;
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private static final Writer UNWRITABLE = new Writer() {
+		@Override
+		public void write(char[] buffer, int offset, int length) {
+			throw new AssertionError();
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	};
+
+	private BinaryCodec() {
+	}
+
+	/**
+	 * Tells whether a {@code Content-Type} header value designates the binary encoding.
+	 */
+	public static boolean isBinary(String contentType) {
+		return contentType != null && contentType.regionMatches(true, 0, CONTENT_TYPE, 0, CONTENT_TYPE.length());
+	}
+
+	/**
+	 * Encodes {@code value} as {@link Converter} serializes it.
+	 */
+	public static byte[] encode(Object value) {
+		return encode(JsonParser.parseString(Converter.toJson(value)));
+	}
+
+	/**
+	 * Encodes a JSON tree.
+	 */
+	public static byte[] encode(JsonElement tree) {
+		BinaryWriter writer = new BinaryWriter();
+		try {
+			TypeAdapters.JSON_ELEMENT.write(writer, tree);
+		} catch (IOException e) {
+			// The writer only fills a byte array
+			throw new UncheckedIOException(e);
+		}
+		return writer.toByteArray();
+	}
+
+	/**
+	 * Decodes a document into {@code type}, as {@link Converter} deserializes its JSON form.
+	 *
+	 * @throws IllegalArgumentException if {@code bytes} is not a valid document.
+	 */
+	public static <T> T decode(byte[] bytes, Class<T> type) {
+		return Converter.fromJson(decodeTree(bytes).toString(), type);
+	}
+
+	/**
+	 * Decodes a document into a JSON tree.
+	 *
+	 * @throws IllegalArgumentException if {@code bytes} is not a valid document.
+	 */
+	public static JsonElement decodeTree(byte[] bytes) {
+		if (bytes.length < 2 || bytes[0] != MAGIC || bytes[1] != VERSION) {
+			throw new IllegalArgumentException("Not a binary transfer document.");
+		}
+		try {
+			BinaryReader reader = new BinaryReader(bytes, 2);
+			JsonElement tree = reader.readValue(reader.readByte());
+			if (reader.position != bytes.length) {
+				throw new IllegalArgumentException("Trailing bytes after the binary transfer document.");
+			}
+			return tree;
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Truncated binary transfer document.", e);
+		}
+	}
+
+	/**
+	 * Returns a body handler that decodes the response according to its {@code Content-Type}: binary when the upstream
+	 * answered with {@link #CONTENT_TYPE}, streamed JSON otherwise.
+	 */
+	public static <T> BodyHandler<Supplier<T>> handler(Class<T> type) {
+		BodyHandler<Supplier<T>> json = JsonBodies.handler(type);
+		return responseInfo -> isBinary(responseInfo.headers().firstValue("Content-Type").orElse(null))
+				? BodySubscribers.mapping(BodySubscribers.ofByteArray(), bytes -> () -> bytes.length == 0 ? null : decode(bytes, type))
+				: json.apply(responseInfo);
+	}
+
+	/**
+	 * Gson streaming writer emitting the binary layout instead of JSON text.
+	 */
+	private static final class BinaryWriter extends JsonWriter {
+		private final Map<String, Integer> names = new HashMap<>();
+		private byte[] buffer = new byte[256];
+		private int count;
+		private String pendingName;
+
+		BinaryWriter() {
+			super(UNWRITABLE);
+			writeByte(MAGIC);
+			writeByte(VERSION);
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buffer, count);
+		}
+
+		private void ensure(int extra) {
+			if (count + extra > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, count + extra));
+			}
+		}
+
+		private void writeByte(int b) {
+			ensure(1);
+			buffer[count++] = (byte) b;
+		}
+
+		private void writeVarint(long value) {
+			ensure(10);
+			while ((value & ~0x7FL) != 0) {
+				buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buffer[count++] = (byte) value;
+		}
+
+		private void writeText(String value) {
+			byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+			writeVarint(utf8.length);
+			ensure(utf8.length);
+			System.arraycopy(utf8, 0, buffer, count, utf8.length);
+			count += utf8.length;
+		}
+
+		private void flushName() {
+			if (pendingName == null) {
+				return;
+			}
+			Integer index = names.get(pendingName);
+			if (index == null) {
+				names.put(pendingName, names.size());
+				writeByte(NAME);
+				writeText(pendingName);
+			} else {
+				writeByte(NAME_REF);
+				writeVarint(index);
+			}
+			pendingName = null;
+		}
+
+		@Override
+		public JsonWriter beginObject() {
+			flushName();
+			writeByte(OBJECT);
+			return this;
+		}
+
+		@Override
+		public JsonWriter endObject() {
+			// A name left pending here belonged to a dropped null value
+			pendingName = null;
+			writeByte(END);
+			return this;
+		}
+
+		@Override
+		public JsonWriter beginArray() {
+			flushName();
+			writeByte(ARRAY);
+			return this;
+		}
+
+		@Override
+		public JsonWriter endArray() {
+			writeByte(END);
+			return this;
+		}
+
+		@Override
+		public JsonWriter name(String name) {
+			if (name == null) {
+				throw new NullPointerException("name == null");
+			}
+			pendingName = name;
+			return this;
+		}
+
+		@Override
+		public JsonWriter nullValue() {
+			if (pendingName != null && !getSerializeNulls()) {
+				pendingName = null;
+				return this;
+			}
+			flushName();
+			writeByte(NULL);
+			return this;
+		}
+
+		@Override
+		public JsonWriter value(String value) {
+			if (value == null) {
+				return nullValue();
+			}
+			flushName();
+
+			int length = value.length();
+			if (length >= MIN_PACKED_LENGTH) {
+				if ((length & 1) == 0 && isLowerHex(value)) {
+					writeByte(HEX);
+					writeVarint(length >> 1);
+					ensure(length >> 1);
+					for (int i = 0; i < length; i += 2) {
+						buffer[count++] = (byte) ((Character.digit(value.charAt(i), 16) << 4) | Character.digit(value.charAt(i + 1), 16));
+					}
+					return this;
+				}
+				byte[] raw = canonicalBase64(value);
+				if (raw != null) {
+					writeByte(BASE64);
+					writeVarint(raw.length);
+					ensure(raw.length);
+					System.arraycopy(raw, 0, buffer, count, raw.length);
+					count += raw.length;
+					return this;
+				}
+			}
+
+			writeByte(STRING);
+			writeText(value);
+			return this;
+		}
+
+		@Override
+		public JsonWriter jsonValue(String value) {
+			throw new UnsupportedOperationException("Raw JSON cannot be written to a binary transfer document.");
+		}
+
+		@Override
+		public JsonWriter value(boolean value) {
+			flushName();
+			writeByte(value ? TRUE : FALSE);
+			return this;
+		}
+
+		@Override
+		public JsonWriter value(Boolean value) {
+			return value == null ? nullValue() : value(value.booleanValue());
+		}
+
+		@Override
+		public JsonWriter value(float value) {
+			return value((double) value);
+		}
+
+		@Override
+		public JsonWriter value(double value) {
+			flushName();
+			writeByte(DOUBLE);
+			long bits = Double.doubleToRawLongBits(value);
+			ensure(8);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				buffer[count++] = (byte) (bits >>> shift);
+			}
+			return this;
+		}
+
+		@Override
+		public JsonWriter value(long value) {
+			flushName();
+			writeByte(INT);
+			writeVarint((value << 1) ^ (value >> 63));
+			return this;
+		}
+
+		@Override
+		public JsonWriter value(Number value) {
+			if (value == null) {
+				return nullValue();
+			}
+			if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+				return value(value.longValue());
+			}
+			if (value instanceof LazilyParsedNumber && isCanonicalLong(value.toString())) {
+				return value(Long.parseLong(value.toString()));
+			}
+			if (value instanceof Double || value instanceof Float) {
+				return value(value.doubleValue());
+			}
+			flushName();
+			writeByte(DECIMAL);
+			writeText(value.toString());
+			return this;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	/**
+	 * Reads the binary layout back into a JSON tree.
+	 */
+	private static final class BinaryReader {
+		private final byte[] bytes;
+		private final List<String> names = new ArrayList<>();
+		private int position;
+
+		BinaryReader(byte[] bytes, int position) {
+			this.bytes = bytes;
+			this.position = position;
+		}
+
+		byte readByte() {
+			return bytes[position++];
+		}
+
+		long readVarint() {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte b = readByte();
+				value |= (long) (b & 0x7F) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("Malformed varint in binary transfer document.");
+		}
+
+		int readLength() {
+			long length = readVarint();
+			if (length < 0 || length > bytes.length - position) {
+				throw new IllegalArgumentException("Truncated binary transfer document.");
+			}
+			return (int) length;
+		}
+
+		String readText() {
+			int length = readLength();
+			String text = new String(bytes, position, length, StandardCharsets.UTF_8);
+			position += length;
+			return text;
+		}
+
+		JsonElement readValue(byte tag) {
+			switch (tag) {
+				case NULL:
+					return JsonNull.INSTANCE;
+				case FALSE:
+					return new JsonPrimitive(false);
+				case TRUE:
+					return new JsonPrimitive(true);
+				case INT: {
+					long zigzag = readVarint();
+					return new JsonPrimitive((zigzag >>> 1) ^ -(zigzag & 1));
+				}
+				case DOUBLE: {
+					long bits = 0;
+					for (int i = 0; i < 8; i++) {
+						bits = (bits << 8) | (readByte() & 0xFF);
+					}
+					return new JsonPrimitive(Double.longBitsToDouble(bits));
+				}
+				case DECIMAL:
+					return new JsonPrimitive(new LazilyParsedNumber(readText()));
+				case STRING:
+					return new JsonPrimitive(readText());
+				case HEX: {
+					int length = readLength();
+					char[] hex = new char[length << 1];
+					for (int i = 0; i < length; i++) {
+						int b = bytes[position++] & 0xFF;
+						hex[i << 1] = HEX_DIGITS[b >>> 4];
+						hex[(i << 1) + 1] = HEX_DIGITS[b & 0x0F];
+					}
+					return new JsonPrimitive(new String(hex));
+				}
+				case BASE64: {
+					int length = readLength();
+					byte[] raw = Arrays.copyOfRange(bytes, position, position + length);
+					position += length;
+					return new JsonPrimitive(Base64.getEncoder().encodeToString(raw));
+				}
+				case OBJECT: {
+					JsonObject object = new JsonObject();
+					byte next;
+					while ((next = readByte()) != END) {
+						String name;
+						if (next == NAME) {
+							name = readText();
+							names.add(name);
+						} else if (next == NAME_REF) {
+							long index = readVarint();
+							if (index < 0 || index >= names.size()) {
+								throw new IllegalArgumentException("Unknown name reference in binary transfer document.");
+							}
+							name = names.get((int) index);
+						} else {
+							throw new IllegalArgumentException("Expected a property name in binary transfer document.");
+						}
+						object.add(name, readValue(readByte()));
+					}
+					return object;
+				}
+				case ARRAY: {
+					JsonArray array = new JsonArray();
+					byte next;
+					while ((next = readByte()) != END) {
+						array.add(readValue(next));
+					}
+					return array;
+				}
+				default:
+					throw new IllegalArgumentException("Unknown tag " + tag + " in binary transfer document.");
+			}
+		}
+	}
+
+	/**
+	 * Tells whether a number's JSON text is a {@code long} written as {@link Long#toString(long)} would, so that it
+	 * reads back as the same text.
+	 */
+	private static boolean isCanonicalLong(String text) {
+		int length = text.length();
+		int start = text.startsWith("-") ? 1 : 0;
+		if (length == start || length - start > 19 || length - start > 1 && text.charAt(start) == '0' || text.equals("-0")) {
+			return false;
+		}
+		for (int i = start; i < length; i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		try {
+			Long.parseLong(text);
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private static boolean isLowerHex(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the bytes of a padded base64 string if encoding them again yields the same string, {@code null} otherwise.
+	 */
+	private static byte[] canonicalBase64(String value) {
+		int length = value.length();
+		if ((length & 3) != 0) {
+			return null;
+		}
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			boolean padding = c == '=' && i >= length - 2 && (i == length - 1 || value.charAt(length - 1) == '=');
+			if (!padding && (c < 'A' || c > 'Z') && (c < 'a' || c > 'z') && (c < '0' || c > '9') && c != '+' && c != '/') {
+				return null;
+			}
+		}
+		byte[] raw = Base64.getDecoder().decode(value);
+		return Base64.getEncoder().encodeToString(raw).equals(value) ? raw : null;
+	}
+}
@@ -0,0 +1,74 @@
+package org.norsh.api.transport;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.norsh.api.config.ApiConfig;
+
+/**
+ * Pool of fixed-size direct {@link ByteBuffer}s for request bodies.
+ * <p>
+ * Buffers are handed out cleared and taken back once the exchange that used them has completed. When the pool is empty
+ * a new buffer is allocated, and when it is full a returned buffer is simply dropped, so the pool never blocks.
+ * </p>
+ *
+ * <h2>Configuration ({@code api.json}):</h2>
+ * <ul>
+ * <li>{@code transfer.buffers.size}: capacity of each buffer, in bytes.</li>
+ * <li>{@code transfer.buffers.max}: maximum number of idle buffers retained.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class BufferPool {
+	private static final BufferPool instance = new BufferPool(
+			ApiConfig.getInstance().getInt("transfer.buffers.size", 16 * 1024),
+			ApiConfig.getInstance().getInt("transfer.buffers.max", 1024));
+
+	private final ArrayBlockingQueue<ByteBuffer> idle;
+	private final int bufferSize;
+	private final LongAdder allocations = new LongAdder();
+
+	public BufferPool(int bufferSize, int maxIdle) {
+		this.bufferSize = bufferSize;
+		this.idle = new ArrayBlockingQueue<>(Math.max(1, maxIdle));
+	}
+
+	public static BufferPool getInstance() {
+		return instance;
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public ByteBuffer acquire() {
+		ByteBuffer buffer = idle.poll();
+		if (buffer == null) {
+			allocations.increment();
+			return ByteBuffer.allocateDirect(bufferSize);
+		}
+		return buffer;
+	}
+
+	public void release(ByteBuffer buffer) {
+		if (buffer.isDirect() && buffer.capacity() == bufferSize) {
+			idle.offer(buffer.clear());
+		}
+	}
+
+	/**
+	 * Returns the number of buffers allocated because the pool was empty.
+	 */
+	public long getAllocations() {
+		return allocations.sum();
+	}
+
+	public int getIdle() {
+		return idle.size();
+	}
+}
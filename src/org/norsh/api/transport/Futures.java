@@ -0,0 +1,39 @@
+package org.norsh.api.transport;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helpers for the futures of upstream exchanges.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public final class Futures {
+	private Futures() {
+	}
+
+	/**
+	 * Cancels {@code source} when {@code stage}, derived from it, is cancelled. Derived stages do not cancel their source
+	 * by themselves, so without this a caller giving up would leave the exchange running.
+	 */
+	public static <T> CompletableFuture<T> propagateCancel(CompletableFuture<T> stage, Future<?> source) {
+		stage.whenComplete((result, failure) -> {
+			if (failure instanceof CancellationException) {
+				source.cancel(true);
+			}
+		});
+		return stage;
+	}
+
+	/**
+	 * Returns the cause of a {@link CompletionException}, or {@code failure} itself.
+	 */
+	public static Throwable unwrap(Throwable failure) {
+		return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+	}
+}
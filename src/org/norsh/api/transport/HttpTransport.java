@@ -0,0 +1,191 @@
+package org.norsh.api.transport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.exceptions.GatewayTimeoutException;
+import org.norsh.api.limits.Deadline;
+import org.norsh.api.metrics.Phase;
+import org.norsh.api.metrics.RouteMetrics;
+import org.norsh.api.transport.JsonBodies.PooledBody;
+import org.norsh.model.transport.DataTransfer;
+
+/**
+ * {@link Transport} posting transfers to the blockchain nodes over HTTP.
+ * <p>
+ * Each transfer is routed to a node by the {@link UpstreamBalancer}. Single transfers go through that node's circuit
+ * breaker and concurrency limit here; bulk transfers are handed to the node's {@link TransferBatcher}, which guards each
+ * batch.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Synchronous or asynchronous exchanges, selected by {@code transfer.mode}.</li>
+ * <li>Streams transfers through pooled buffers in both directions (see {@link JsonBodies}).</li>
+ * <li>With {@code transfer.codec} set to {@code binary}, sends transfers in the {@link BinaryCodec} encoding; a node
+ * answering HTTP 415 is switched back to JSON. Answers are decoded according to their {@code Content-Type}.</li>
+ * <li>Micro-batches writes when {@code transfer.batch.enabled} is set.</li>
+ * <li>Single transfers carry the request {@link Deadline}: the remaining time is sent upstream and bounds the exchange,
+ * and cancelling the returned future aborts it.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class HttpTransport implements Transport {
+	/**
+	 * Forwarding strategies for the blockchain round trip.
+	 */
+	public enum Forwarding {
+		/** Blocks the handler thread on {@link HttpClient#send}. */
+		SYNC,
+		/** Uses {@link HttpClient#sendAsync} and completes the response from the upstream callback. */
+		ASYNC
+	}
+
+	private static final Forwarding FORWARDING = Forwarding.valueOf(ApiConfig.getInstance().getString("transfer.mode", "sync").toUpperCase());
+	private static final boolean BINARY = ApiConfig.getInstance().getString("transfer.codec", "json").equalsIgnoreCase("binary");
+
+	private final UpstreamBalancer balancer;
+
+	public HttpTransport(UpstreamBalancer balancer) {
+		this.balancer = balancer;
+	}
+
+	@Override
+	public CompletableFuture<TransferReply> send(DataTransfer transfer, boolean bulk, RouteMetrics metrics, Deadline deadline) {
+		TransferClient client = balancer.select(transfer.getRequestId());
+		if (bulk) {
+			return TransferBatcher.of(client.getUri()).submit(transfer);
+		}
+
+		return client.guarded(() -> sendDirect(client, transfer, metrics, deadline), HttpTransport::isAnswered);
+	}
+
+	/**
+	 * Tells whether the node answered in time; a {@code TIMEOUT} transfer counts as a failure of the node.
+	 */
+	private static boolean isAnswered(TransferReply reply) {
+		return switch (reply.transfer().getStatus()) {
+			case TIMEOUT -> false;
+			default -> true;
+		};
+	}
+
+	private CompletableFuture<TransferReply> sendDirect(TransferClient client, DataTransfer requestTransfer, RouteMetrics metrics, Deadline deadline) {
+		if (!BINARY || !client.acceptsBinary()) {
+			return sendJson(client, requestTransfer, metrics, deadline);
+		}
+
+		CompletableFuture<TransferReply> binary = sendBinary(client, requestTransfer, metrics, deadline);
+		return Futures.propagateCancel(binary.exceptionallyCompose(failure -> {
+			if (Futures.unwrap(failure) instanceof BinaryRefusedException) {
+				client.refuseBinary();
+				return sendJson(client, requestTransfer, metrics, deadline);
+			}
+			return CompletableFuture.failedFuture(failure);
+		}), binary);
+	}
+
+	private CompletableFuture<TransferReply> sendJson(TransferClient client, DataTransfer requestTransfer, RouteMetrics metrics, Deadline deadline) {
+		long start = System.nanoTime();
+		PooledBody body = JsonBodies.write(requestTransfer);
+		if (metrics != null) {
+			metrics.record(Phase.SERIALIZE, start);
+		}
+		return exchange(client, client.newRequest(body.publisher(), "application/json", deadline), body);
+	}
+
+	private CompletableFuture<TransferReply> sendBinary(TransferClient client, DataTransfer requestTransfer, RouteMetrics metrics, Deadline deadline) {
+		long start = System.nanoTime();
+		byte[] body = BinaryCodec.encode(requestTransfer);
+		if (metrics != null) {
+			metrics.record(Phase.SERIALIZE, start);
+		}
+		return exchange(client, client.newRequest(BodyPublishers.ofByteArray(body), BinaryCodec.CONTENT_TYPE, deadline), null);
+	}
+
+	/**
+	 * Runs an exchange. The pooled request body, if any, is returned to the pool once the upstream has answered, and
+	 * abandoned when the exchange fails or is cancelled, since the client may still be sending from it.
+	 */
+	private CompletableFuture<TransferReply> exchange(TransferClient client, HttpRequest httpRequest, PooledBody body) {
+		if (FORWARDING == Forwarding.SYNC) {
+			HttpResponse<Supplier<DataTransfer>> httpResponse;
+			try {
+				httpResponse = client.send(httpRequest, BinaryCodec.handler(DataTransfer.class));
+			} catch (IOException | RuntimeException e) {
+				settle(body, false);
+				return CompletableFuture.failedFuture(translate(e));
+			} catch (InterruptedException e) {
+				settle(body, false);
+				Thread.currentThread().interrupt();
+				return CompletableFuture.failedFuture(e);
+			}
+			settle(body, true);
+			try {
+				return CompletableFuture.completedFuture(toReply(httpResponse));
+			} catch (RuntimeException e) {
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+
+		CompletableFuture<HttpResponse<Supplier<DataTransfer>>> exchange = client.sendAsync(httpRequest, BinaryCodec.handler(DataTransfer.class));
+		exchange.whenComplete((httpResponse, failure) -> settle(body, failure == null));
+		// Parsing blocks on the body stream, so it runs on its own executor rather than on the client's
+		return Futures.propagateCancel(exchange
+				.thenApplyAsync(HttpTransport::toReply, JsonBodies.parsers())
+				.exceptionallyCompose(failure -> CompletableFuture.failedFuture(translate(failure))), exchange);
+	}
+
+	private static void settle(PooledBody body, boolean answered) {
+		if (body == null) {
+			return;
+		}
+		if (answered) {
+			body.release();
+		} else {
+			body.abandon();
+		}
+	}
+
+	/**
+	 * Reports a timed out exchange as an HTTP 504. It still counts as an upstream failure: only a caller giving up, by
+	 * cancelling or through its own deadline, is an abandon.
+	 */
+	private static Throwable translate(Throwable failure) {
+		return Futures.unwrap(failure) instanceof HttpTimeoutException ? GatewayTimeoutException.UPSTREAM_TIMEOUT : failure;
+	}
+
+	private static TransferReply toReply(HttpResponse<Supplier<DataTransfer>> httpResponse) {
+		if (httpResponse.statusCode() == 415 && BinaryCodec.isBinary(httpResponse.request().headers().firstValue("Content-Type").orElse(null))) {
+			throw new BinaryRefusedException();
+		}
+		DataTransfer responseTransfer = httpResponse.body().get();
+		if (responseTransfer == null) {
+			throw new UncheckedIOException(new IOException("Upstream answered HTTP " + httpResponse.statusCode() + " without a transfer."));
+		}
+		return new TransferReply(responseTransfer, httpResponse.headers().firstValue("X-Duration").orElse(null));
+	}
+
+	/**
+	 * Raised when the upstream answers a binary body with HTTP 415, so the transfer is retried in JSON.
+	 */
+	private static final class BinaryRefusedException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		BinaryRefusedException() {
+			super("The upstream does not accept binary transfers.", null, false, false);
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package org.norsh.api.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.norsh.util.Converter;
+
+/**
+ * Streaming JSON bodies for the blockchain exchange.
+ * <p>
+ * Payloads go through {@link Converter}, like every other JSON body of the API. Request payloads are encoded straight
+ * from the JSON text into pooled direct buffers which are then published as the request body, without an intermediate
+ * {@code byte[]}. Responses are read from the body stream and parsed on the {@link #parsers()} executor, so that
+ * waiting for the stream never blocks the HTTP client's own threads.
+ * </p>
+ *
+ * <h2>Usage:</h2>
+ * <pre>
+ * PooledBody body = JsonBodies.write(transfer);
+ * client.sendAsync(client.newRequest(body.publisher()), JsonBodies.handler(DataTransfer.class))
+ *       .whenComplete((r, e) -&gt; { if (e == null) body.release(); else body.abandon(); })
+ *       .thenApplyAsync(r -&gt; r.body().get(), JsonBodies.parsers());
+ * </pre>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see BufferPool
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public final class JsonBodies {
+	private static final ExecutorService parsers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("transfer-parser-", 0).factory());
+
+	private JsonBodies() {
+	}
+
+	/**
+	 * Request body held in pooled buffers.
+	 * <p>
+	 * Once the exchange has completed, {@link #release()} returns the buffers to the pool if the upstream answered, and
+	 * {@link #abandon()} gives them up otherwise. Either takes effect at most once.
+	 * </p>
+	 */
+	public static final class PooledBody {
+		private final BufferPool pool;
+		private final List<ByteBuffer> buffers;
+		private final long length;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private PooledBody(BufferPool pool, List<ByteBuffer> buffers, long length) {
+			this.pool = pool;
+			this.buffers = buffers;
+			this.length = length;
+		}
+
+		public long length() {
+			return length;
+		}
+
+		public BodyPublisher publisher() {
+			return BodyPublishers.fromPublisher(this::subscribe, length);
+		}
+
+		/**
+		 * Returns the buffers to the pool. Only call this once the upstream has answered, when the client has finished
+		 * sending the body.
+		 */
+		public void release() {
+			if (released.compareAndSet(false, true)) {
+				buffers.forEach(pool::release);
+			}
+		}
+
+		/**
+		 * Gives the buffers up without returning them to the pool, for an exchange that failed or was cancelled. The
+		 * client may still be sending from them, so they are left to the garbage collector instead of being reused.
+		 */
+		public void abandon() {
+			released.set(true);
+		}
+
+		private void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				private int next;
+				private long demand;
+				private boolean draining;
+				private boolean done;
+
+				@Override
+				public synchronized void request(long n) {
+					if (done) {
+						return;
+					}
+					if (n <= 0) {
+						done = true;
+						subscriber.onError(new IllegalArgumentException("non-positive subscription request"));
+						return;
+					}
+
+					demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+					if (draining) {
+						// Re-entrant call from onNext; the outer loop picks up the new demand.
+						return;
+					}
+
+					draining = true;
+					while (demand > 0 && next < buffers.size() && !done) {
+						demand--;
+						// Each subscription gets its own view so a retried request starts from the beginning.
+						subscriber.onNext(buffers.get(next++).asReadOnlyBuffer());
+					}
+					draining = false;
+
+					if (!done && next == buffers.size()) {
+						done = true;
+						subscriber.onComplete();
+					}
+				}
+
+				@Override
+				public synchronized void cancel() {
+					done = true;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Serializes {@code value} into pooled buffers from the shared {@link BufferPool}.
+	 */
+	public static PooledBody write(Object value) {
+		return write(value, BufferPool.getInstance());
+	}
+
+	public static PooledBody write(Object value, BufferPool pool) {
+		CharBuffer json = CharBuffer.wrap(Converter.toJson(value));
+		CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		List<ByteBuffer> buffers = new ArrayList<>(2);
+		long length = 0;
+		try {
+			ByteBuffer current = pool.acquire();
+			buffers.add(current);
+			// Overflow also covers a character that does not fit in the room left, so it always moves to a new buffer
+			CoderResult result;
+			while (!(result = encoder.encode(json, current, true)).isUnderflow()) {
+				if (result.isError()) {
+					result.throwException();
+				}
+				if (current.position() == 0) {
+					throw new IllegalStateException("Pooled buffers are smaller than a UTF-8 character.");
+				}
+				length += current.position();
+				current = pool.acquire();
+				buffers.add(current);
+			}
+			encoder.flush(current);
+			length += current.position();
+		} catch (IOException | RuntimeException e) {
+			buffers.forEach(pool::release);
+			throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+		}
+		buffers.forEach(ByteBuffer::flip);
+		return new PooledBody(pool, buffers, length);
+	}
+
+	/**
+	 * Serializes {@code value} to UTF-8 JSON bytes, for transports that take whole messages.
+	 */
+	public static byte[] toBytes(Object value) {
+		return Converter.toJson(value).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Parses a JSON document from UTF-8 bytes.
+	 */
+	public static <T> T read(byte[] bytes, Class<T> type) {
+		return Converter.fromJson(new String(bytes, StandardCharsets.UTF_8), type);
+	}
+
+	/**
+	 * Parses a JSON document from a stream, once it has been read to the end.
+	 */
+	public static <T> T read(InputStream in, Class<T> type) {
+		try (in) {
+			return read(in.readAllBytes(), type);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Returns a body handler that parses the response once it has streamed in.
+	 * <p>
+	 * The body is exposed as a {@link Supplier} because the stream only fills while the exchange progresses. Its
+	 * {@code get()} blocks until the body has arrived, so call it on the {@link #parsers()} executor, never in a stage
+	 * running on the HTTP client's executor, which it could stall or deadlock.
+	 * </p>
+	 */
+	public static <T> BodyHandler<Supplier<T>> handler(Class<T> type) {
+		return responseInfo -> BodySubscribers.mapping(BodySubscribers.ofInputStream(), in -> () -> read(in, type));
+	}
+
+	/**
+	 * Returns the executor response bodies are parsed on: one virtual thread per body, which parks while the stream
+	 * fills.
+	 */
+	public static Executor parsers() {
+		return parsers;
+	}
+}
@@ -0,0 +1,175 @@
+package org.norsh.api.transport;
+
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.transport.JsonBodies.PooledBody;
+import org.norsh.model.transport.DataTransfer;
+
+/**
+ * Micro-batching stage for {@link DataTransfer} submissions.
+ * <p>
+ * Transfers are collected for up to {@code transfer.batch.windowMs} milliseconds or until {@code transfer.batch.maxSize}
+ * transfers are pending, whichever comes first, and are then posted to {@code transfer.batch.url} as a single JSON array.
+ * The upstream answers with a JSON array of {@link DataTransfer} in submission order, which is fanned back to the waiting
+ * callers.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Lock-free submission path; a single flusher thread owns batching.</li>
+ * <li>Partial or malformed batch answers fail only the affected callers.</li>
+ * <li>Each batch counts as one call against the upstream's concurrency limit and circuit breaker.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class TransferBatcher {
+	private static volatile TransferBatcher instance;
+	private static final Map<URI, TransferBatcher> batchers = new ConcurrentHashMap<>();
+
+	private record Pending(DataTransfer transfer, CompletableFuture<TransferReply> future) {
+	}
+
+	private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final TransferClient client;
+	private final long windowNanos;
+	private final int maxSize;
+	private final Thread flusher;
+
+	public TransferBatcher(URI uri, long windowMs, int maxSize) {
+		this.client = TransferClient.of(uri);
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+		this.maxSize = Math.max(1, maxSize);
+		this.flusher = Thread.ofPlatform().name("transfer-batcher").daemon().start(this::run);
+	}
+
+	/**
+	 * Returns the shared batcher configured from {@code api.json}.
+	 */
+	public static TransferBatcher getInstance() {
+		if (instance == null) {
+			synchronized (TransferBatcher.class) {
+				if (instance == null) {
+					ApiConfig config = ApiConfig.getInstance();
+					String url = config.getString("transfer.batch.url", config.getString("transfer.url", "") + "/batch");
+					instance = new TransferBatcher(URI.create(url), config.getLong("transfer.batch.windowMs", 5), config.getInt("transfer.batch.maxSize", 64));
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the shared batcher of an upstream node, posting to {@code <node>/batch}. The node of {@code transfer.url}
+	 * uses {@link #getInstance()}, which honors {@code transfer.batch.url}.
+	 *
+	 * @param node the node URL.
+	 * @return the batcher of the node.
+	 */
+	public static TransferBatcher of(URI node) {
+		ApiConfig config = ApiConfig.getInstance();
+		if (node.toString().equals(config.getString("transfer.url", ""))) {
+			return getInstance();
+		}
+		return batchers.computeIfAbsent(node, n -> new TransferBatcher(URI.create(n + "/batch"), config.getLong("transfer.batch.windowMs", 5), config.getInt("transfer.batch.maxSize", 64)));
+	}
+
+	/**
+	 * Queues a transfer for the next batch.
+	 *
+	 * @param transfer the transfer to forward.
+	 * @return a future completed with the per-item upstream answer.
+	 */
+	public CompletableFuture<TransferReply> submit(DataTransfer transfer) {
+		CompletableFuture<TransferReply> future = new CompletableFuture<>();
+		queue.add(new Pending(transfer, future));
+
+		int pending = size.incrementAndGet();
+		if (pending == 1 || pending >= maxSize) {
+			LockSupport.unpark(flusher);
+		}
+		return future;
+	}
+
+	private void run() {
+		while (true) {
+			if (size.get() == 0) {
+				LockSupport.park(this);
+				continue;
+			}
+
+			long deadline = System.nanoTime() + windowNanos;
+			long remaining;
+			while (size.get() < maxSize && (remaining = deadline - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(this, remaining);
+			}
+
+			List<Pending> batch = new ArrayList<>(Math.min(size.get(), maxSize));
+			Pending pending;
+			while (batch.size() < maxSize && (pending = queue.poll()) != null) {
+				batch.add(pending);
+			}
+			size.addAndGet(-batch.size());
+
+			if (!batch.isEmpty()) {
+				flush(batch);
+			}
+		}
+	}
+
+	private void flush(List<Pending> batch) {
+		List<DataTransfer> transfers = new ArrayList<>(batch.size());
+		for (Pending pending : batch) {
+			transfers.add(pending.transfer());
+		}
+
+		PooledBody body = JsonBodies.write(transfers);
+		// Parsing blocks on the body stream, so the replies are fanned out on their own executor rather than the client's
+		client.guarded(() -> client.sendAsync(client.newRequest(body.publisher()), JsonBodies.handler(DataTransfer[].class)), httpResponse -> httpResponse.statusCode() < 500).whenCompleteAsync((httpResponse, failure) -> {
+			if (failure != null) {
+				body.abandon();
+				batch.forEach(p -> p.future().completeExceptionally(failure));
+			} else {
+				body.release();
+				fanOut(batch, httpResponse);
+			}
+		}, JsonBodies.parsers());
+	}
+
+	private void fanOut(List<Pending> batch, HttpResponse<Supplier<DataTransfer[]>> httpResponse) {
+		String duration = httpResponse.headers().firstValue("X-Duration").orElse(null);
+		DataTransfer[] replies;
+		try {
+			replies = httpResponse.body().get();
+		} catch (RuntimeException e) {
+			batch.forEach(p -> p.future().completeExceptionally(e));
+			return;
+		}
+
+		for (int i = 0; i < batch.size(); i++) {
+			CompletableFuture<TransferReply> future = batch.get(i).future();
+			if (replies != null && i < replies.length && replies[i] != null) {
+				future.complete(new TransferReply(replies[i], duration));
+			} else {
+				future.completeExceptionally(new IllegalStateException("Missing batch reply for item " + i + " (HTTP " + httpResponse.statusCode() + ")."));
+			}
+		}
+	}
+}
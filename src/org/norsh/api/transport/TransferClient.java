@@ -0,0 +1,322 @@
+package org.norsh.api.transport;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.exceptions.ServiceUnavailableException;
+import org.norsh.api.limits.AdaptiveLimiter;
+import org.norsh.api.limits.CircuitBreaker;
+import org.norsh.api.limits.Deadline;
+
+/**
+ * Shared HTTP client for a blockchain upstream.
+ * <p>
+ * One instance exists per upstream URI. It keeps the parsed URI, a single pooled {@link HttpClient} that prefers HTTP/2
+ * multiplexing and falls back to HTTP/1.1 keep-alive when the upstream does not negotiate it, and counters describing
+ * the traffic it carries. Each upstream also owns an {@link AdaptiveLimiter} and a {@link CircuitBreaker} guarding it.
+ * </p>
+ *
+ * <h2>Configuration ({@code api.json}):</h2>
+ * <ul>
+ * <li>{@code transfer.pool.size}: maximum pooled HTTP/1.1 connections per upstream ({@code 0} means unbounded).</li>
+ * <li>{@code transfer.pool.keepAliveSeconds}: idle time before a pooled connection is closed.</li>
+ * <li>{@code transfer.pool.maxStreams}: maximum concurrent HTTP/2 streams per connection.</li>
+ * <li>{@code transfer.executor}: {@code virtual}, {@code default} or a fixed thread count.</li>
+ * <li>{@code transfer.timeoutMs}: upstream timeout, defaulting to {@code defaults.messagingTimeoutMs}; a request
+ * {@link Deadline} shortens it.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class TransferClient {
+	private static final Map<URI, TransferClient> clients = new ConcurrentHashMap<>();
+	private static final Duration DEFAULT_TIMEOUT = Duration.ofMillis(ApiConfig.getInstance().getLong("transfer.timeoutMs",
+			ApiConfig.getInstance().getLong("defaults.messagingTimeoutMs", 30_000)));
+
+	static {
+		// The JDK client reads its pool settings once, when the first HttpClient is created.
+		ApiConfig config = ApiConfig.getInstance();
+		System.setProperty("jdk.httpclient.connectionPoolSize", String.valueOf(config.getInt("transfer.pool.size", 0)));
+		System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(config.getLong("transfer.pool.keepAliveSeconds", 30)));
+		System.setProperty("jdk.httpclient.maxstreams", String.valueOf(config.getInt("transfer.pool.maxStreams", 100)));
+	}
+
+	private final URI uri;
+	private final HttpClient client;
+	private final String executorName;
+	private final AdaptiveLimiter limiter = AdaptiveLimiter.fromConfig();
+	private final CircuitBreaker breaker = CircuitBreaker.fromConfig();
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LongAdder inFlight = new LongAdder();
+	private final LongAdder http2Responses = new LongAdder();
+	private final LongAdder http11Responses = new LongAdder();
+	private volatile boolean binaryRefused;
+
+	private TransferClient(URI uri) {
+		this.uri = uri;
+		this.executorName = ApiConfig.getInstance().getString("transfer.executor", "virtual");
+
+		HttpClient.Builder builder = HttpClient.newBuilder()
+				.version(Version.HTTP_2)
+				.connectTimeout(Duration.ofSeconds(10));
+
+		ExecutorService executor = createExecutor(executorName);
+		if (executor != null) {
+			builder.executor(executor);
+		}
+
+		this.client = builder.build();
+	}
+
+	/**
+	 * Returns the shared client for an upstream URI.
+	 *
+	 * @param uri the upstream URI.
+	 * @return the client bound to {@code uri}.
+	 */
+	public static TransferClient of(URI uri) {
+		return clients.computeIfAbsent(uri, TransferClient::new);
+	}
+
+	/**
+	 * Returns the shared client for {@code transfer.url}.
+	 */
+	public static TransferClient getDefault() {
+		return of(URI.create(ApiConfig.getInstance().getString("transfer.url", "")));
+	}
+
+	/**
+	 * Returns the clients created so far, keyed by upstream URI.
+	 */
+	public static Map<URI, TransferClient> getClients() {
+		return Map.copyOf(clients);
+	}
+
+	private static ExecutorService createExecutor(String name) {
+		return switch (name.toLowerCase()) {
+			case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+			case "default" -> null;
+			default -> Executors.newFixedThreadPool(Integer.parseInt(name), Thread.ofPlatform().name("transfer-client-", 0).daemon().factory());
+		};
+	}
+
+	public URI getUri() {
+		return uri;
+	}
+
+	public AdaptiveLimiter getLimiter() {
+		return limiter;
+	}
+
+	public CircuitBreaker getBreaker() {
+		return breaker;
+	}
+
+	/**
+	 * Builds a JSON POST to the upstream.
+	 *
+	 * @param body the request body.
+	 * @return the request.
+	 */
+	public HttpRequest newRequest(BodyPublisher body) {
+		return newRequest(body, "application/json");
+	}
+
+	/**
+	 * Builds a POST to the upstream whose body is encoded as {@code contentType}, accepting an answer in the same
+	 * encoding or in JSON.
+	 *
+	 * @param body        the request body.
+	 * @param contentType the body encoding.
+	 * @return the request.
+	 */
+	public HttpRequest newRequest(BodyPublisher body, String contentType) {
+		return newRequest(body, contentType, null);
+	}
+
+	/**
+	 * Builds a POST bounded by a request deadline: the exchange times out when the deadline passes, and the remaining
+	 * time is passed to the upstream in the {@link Deadline#HEADER} header.
+	 *
+	 * @param body        the request body.
+	 * @param contentType the body encoding.
+	 * @param deadline    the deadline, or {@code null} for {@code transfer.timeoutMs}.
+	 * @return the request.
+	 */
+	public HttpRequest newRequest(BodyPublisher body, String contentType, Deadline deadline) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder()
+				.uri(uri)
+				.header("Content-Type", contentType)
+				.expectContinue(false)
+				.POST(body);
+		if (deadline == null) {
+			builder.timeout(DEFAULT_TIMEOUT);
+		} else {
+			long remainingMs = Math.max(1, deadline.remainingMillis());
+			builder.timeout(Duration.ofMillis(remainingMs)).header(Deadline.HEADER, String.valueOf(remainingMs));
+		}
+		if (!contentType.equals("application/json")) {
+			builder.header("Accept", contentType + ", application/json;q=0.5");
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Tells whether binary bodies may be sent to this upstream, i.e. it has not refused one with HTTP 415.
+	 */
+	public boolean acceptsBinary() {
+		return !binaryRefused;
+	}
+
+	/**
+	 * Records that this upstream refused a binary body; later transfers fall back to JSON.
+	 */
+	public void refuseBinary() {
+		binaryRefused = true;
+	}
+
+	public <T> HttpResponse<T> send(HttpRequest httpRequest, BodyHandler<T> handler) throws IOException, InterruptedException {
+		requests.increment();
+		inFlight.increment();
+		try {
+			HttpResponse<T> httpResponse = client.send(httpRequest, handler);
+			record(httpResponse);
+			return httpResponse;
+		} catch (IOException | InterruptedException | RuntimeException e) {
+			failures.increment();
+			throw e;
+		} finally {
+			inFlight.decrement();
+		}
+	}
+
+	public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest httpRequest, BodyHandler<T> handler) {
+		requests.increment();
+		inFlight.increment();
+		CompletableFuture<HttpResponse<T>> exchange = client.sendAsync(httpRequest, handler);
+		return Futures.propagateCancel(exchange.whenComplete((httpResponse, failure) -> {
+			inFlight.decrement();
+			if (failure != null) {
+				failures.increment();
+			} else {
+				record(httpResponse);
+			}
+		}), exchange);
+	}
+
+	/**
+	 * Runs an upstream call through this upstream's circuit breaker and concurrency limit.
+	 * <p>
+	 * When either refuses, the call is not attempted and the returned future fails with a
+	 * {@link ServiceUnavailableException} so the load is shed instead of queued.
+	 * </p>
+	 *
+	 * @param call    starts the upstream call.
+	 * @param healthy tells whether a completed call reflects a healthy upstream.
+	 * @return the future of the call.
+	 */
+	public <T> CompletableFuture<T> guarded(Supplier<CompletableFuture<T>> call, Predicate<T> healthy) {
+		if (!breaker.allow()) {
+			return CompletableFuture.failedFuture(new ServiceUnavailableException(breaker.getRetryAfterSeconds(), "The blockchain service is temporarily unavailable."));
+		}
+		if (!limiter.tryAcquire()) {
+			return CompletableFuture.failedFuture(new ServiceUnavailableException(1, "The blockchain service is overloaded."));
+		}
+
+		long start = System.nanoTime();
+		CompletableFuture<T> future;
+		try {
+			future = call.get();
+		} catch (RuntimeException e) {
+			future = CompletableFuture.failedFuture(e);
+		}
+
+		return Futures.propagateCancel(future.whenComplete((result, failure) -> {
+			Throwable cause = Futures.unwrap(failure);
+			if (cause instanceof CancellationException) {
+				// The caller gave up, which says nothing about the upstream
+				limiter.abandon();
+				breaker.onAbandoned();
+				return;
+			}
+
+			boolean success = failure == null && healthy.test(result);
+			limiter.release(System.nanoTime() - start, success);
+			if (success) {
+				breaker.onSuccess();
+			} else {
+				breaker.onFailure();
+			}
+		}), future);
+	}
+
+	/**
+	 * Probes an endpoint of this upstream with a {@code HEAD} request.
+	 *
+	 * @param target  the URI to probe.
+	 * @param timeout the probe timeout.
+	 * @return a future completed with {@code true} if the upstream answered with a status below 500.
+	 */
+	public CompletableFuture<Boolean> probe(URI target, Duration timeout) {
+		HttpRequest httpRequest = HttpRequest.newBuilder().uri(target).timeout(timeout).method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
+		return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+				.handle((httpResponse, failure) -> failure == null && httpResponse.statusCode() < 500);
+	}
+
+	/**
+	 * Returns the number of exchanges in progress.
+	 */
+	public long getInFlight() {
+		return inFlight.sum();
+	}
+
+	private void record(HttpResponse<?> httpResponse) {
+		if (httpResponse.version() == Version.HTTP_2) {
+			http2Responses.increment();
+		} else {
+			http11Responses.increment();
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the traffic carried by this client and its pool settings.
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("uri", uri.toString());
+		stats.put("executor", executorName);
+		stats.put("poolSize", Integer.getInteger("jdk.httpclient.connectionPoolSize", 0));
+		stats.put("keepAliveSeconds", Long.getLong("jdk.httpclient.keepalive.timeout", 30));
+		stats.put("maxStreams", Integer.getInteger("jdk.httpclient.maxstreams", 100));
+		stats.put("requests", requests.sum());
+		stats.put("failures", failures.sum());
+		stats.put("inFlight", inFlight.sum());
+		stats.put("http2Responses", http2Responses.sum());
+		stats.put("http11Responses", http11Responses.sum());
+		stats.put("binary", !binaryRefused);
+		return stats;
+	}
+}
@@ -0,0 +1,17 @@
+package org.norsh.api.transport;
+
+import org.norsh.model.transport.DataTransfer;
+
+/**
+ * Upstream answer for a forwarded {@link DataTransfer}.
+ *
+ * @param transfer         the transfer returned by the blockchain.
+ * @param upstreamDuration the {@code X-Duration} reported by the blockchain, or {@code null} if absent.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public record TransferReply(DataTransfer transfer, String upstreamDuration) {
+}
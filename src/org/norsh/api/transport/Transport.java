@@ -0,0 +1,72 @@
+package org.norsh.api.transport;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.limits.Deadline;
+import org.norsh.api.metrics.RouteMetrics;
+import org.norsh.api.stub.StubQueueResponder;
+import org.norsh.api.transport.queue.InMemoryMessageQueue;
+import org.norsh.api.transport.queue.KafkaMessageQueue;
+import org.norsh.api.transport.queue.QueueTransport;
+import org.norsh.model.transport.DataTransfer;
+
+/**
+ * Carries {@link DataTransfer} submissions to the blockchain and their answers back.
+ * <p>
+ * The implementation is selected by {@code transfer.transport} in {@code api.json}:
+ * </p>
+ * <ul>
+ * <li>{@code http} (default): {@link HttpTransport}, a request/response exchange with {@code transfer.url}, or with
+ * the nodes of {@code transfer.nodes}.</li>
+ * <li>{@code kafka}: {@link QueueTransport} over Kafka, producing to {@code kafka.topic} and matching replies consumed
+ * from {@code kafka.replyTopic} by request id.</li>
+ * <li>{@code memory}: {@link QueueTransport} over an {@link InMemoryMessageQueue}, answered by a
+ * {@link StubQueueResponder}; for local tests only.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public interface Transport {
+	/**
+	 * Sends a transfer.
+	 *
+	 * @param transfer the transfer to send.
+	 * @param bulk     whether the transfer may wait briefly to share a round trip with others.
+	 * @param metrics  the route metrics to record the serialization time in, or {@code null}.
+	 * @param deadline the deadline of the request, or {@code null} for {@code transfer.timeoutMs}.
+	 * @return a future completed with the upstream answer; cancelling it abandons the transfer where the transport
+	 *         allows.
+	 */
+	CompletableFuture<TransferReply> send(DataTransfer transfer, boolean bulk, RouteMetrics metrics, Deadline deadline);
+
+	/**
+	 * Returns the transport configured in {@code api.json}.
+	 */
+	static Transport getInstance() {
+		return TransportHolder.INSTANCE;
+	}
+
+	/**
+	 * Creates the transport configured in {@code api.json}.
+	 */
+	static Transport fromConfig() {
+		ApiConfig config = ApiConfig.getInstance();
+		String requestTopic = config.getString("kafka.topic", "norsh.data");
+		String replyTopic = config.getString("kafka.replyTopic", requestTopic + ".replies");
+
+		return switch (config.getString("transfer.transport", "http").toLowerCase()) {
+			case "http" -> new HttpTransport(UpstreamBalancer.getInstance());
+			case "kafka" -> QueueTransport.fromConfig(KafkaMessageQueue.fromConfig(), requestTopic, replyTopic);
+			case "memory" -> {
+				InMemoryMessageQueue queue = new InMemoryMessageQueue();
+				new StubQueueResponder(queue, requestTopic, replyTopic, "SUCCESS").start();
+				yield QueueTransport.fromConfig(queue, requestTopic, replyTopic);
+			}
+			default -> throw new IllegalArgumentException("Unknown transfer.transport: " + config.getString("transfer.transport", null));
+		};
+	}
+}
@@ -0,0 +1,11 @@
+package org.norsh.api.transport;
+
+/**
+ * Lazily creates the shared {@link Transport}.
+ */
+final class TransportHolder {
+	static final Transport INSTANCE = Transport.fromConfig();
+
+	private TransportHolder() {
+	}
+}
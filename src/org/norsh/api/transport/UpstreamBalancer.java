@@ -0,0 +1,212 @@
+package org.norsh.api.transport;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.limits.CircuitBreaker;
+
+/**
+ * Spreads transfers across the blockchain nodes listed in {@code transfer.nodes}, with request affinity.
+ * <p>
+ * Nodes are placed on a consistent-hash ring with {@code transfer.balancer.virtualNodes} points each. A request id is
+ * routed to the first node clockwise from its hash, so every operation on the same element or payment lands on the
+ * same node and benefits from its caches, and adding or removing a node only moves the keys it owned.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Active health checks: every {@code transfer.health.intervalMs}, each node is probed with a {@code HEAD} request
+ * to {@code transfer.health.path} (the node URL itself by default).</li>
+ * <li>A node is unavailable while it fails its health check or its circuit breaker is open; it is saturated while its
+ * concurrency limit is reached.</li>
+ * <li>When the preferred node is unavailable or saturated, the available node with the fewest outstanding requests is
+ * chosen instead. If no node is available, the preferred node is returned and its guard rejects the call.</li>
+ * <li>Without {@code transfer.nodes}, {@code transfer.url} is the only node.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class UpstreamBalancer {
+	private static volatile UpstreamBalancer instance;
+
+	private static final class Node {
+		private final TransferClient client;
+		private final URI healthUri;
+		private final LongAdder preferred = new LongAdder();
+		private final LongAdder fallbacks = new LongAdder();
+		private volatile boolean healthy = true;
+
+		Node(TransferClient client, URI healthUri) {
+			this.client = client;
+			this.healthUri = healthUri;
+		}
+
+		boolean isAvailable() {
+			return healthy && client.getBreaker().getState() != CircuitBreaker.State.OPEN;
+		}
+	}
+
+	private final Node[] nodes;
+	private final long[] ring;
+	private final int[] owners;
+	private final Duration healthTimeout;
+
+	/**
+	 * @param uris             the node URLs.
+	 * @param virtualNodes     ring points per node.
+	 * @param healthPath       the path probed on each node, relative to its URL; empty to probe the URL itself.
+	 * @param healthIntervalMs the probe interval; 0 disables active health checks.
+	 */
+	public UpstreamBalancer(List<URI> uris, int virtualNodes, String healthPath, long healthIntervalMs) {
+		if (uris.isEmpty()) {
+			throw new IllegalArgumentException("At least one upstream node is required.");
+		}
+
+		this.nodes = new Node[uris.size()];
+		for (int i = 0; i < nodes.length; i++) {
+			URI uri = uris.get(i);
+			nodes[i] = new Node(TransferClient.of(uri), healthPath.isEmpty() ? uri : uri.resolve(healthPath));
+		}
+
+		int points = Math.max(1, virtualNodes);
+		long[][] entries = new long[nodes.length * points][];
+		for (int i = 0; i < nodes.length; i++) {
+			for (int v = 0; v < points; v++) {
+				entries[i * points + v] = new long[] { hash(uris.get(i) + "#" + v), i };
+			}
+		}
+		Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+
+		this.ring = new long[entries.length];
+		this.owners = new int[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			ring[i] = entries[i][0];
+			owners[i] = (int) entries[i][1];
+		}
+
+		this.healthTimeout = Duration.ofMillis(Math.max(100, Math.min(healthIntervalMs, 2_000)));
+		if (healthIntervalMs > 0 && nodes.length > 1) {
+			Thread.ofPlatform().name("upstream-health").daemon().start(() -> checkHealth(healthIntervalMs));
+		}
+	}
+
+	/**
+	 * Returns the shared balancer configured from {@code api.json}.
+	 */
+	public static UpstreamBalancer getInstance() {
+		if (instance == null) {
+			synchronized (UpstreamBalancer.class) {
+				if (instance == null) {
+					ApiConfig config = ApiConfig.getInstance();
+					List<URI> uris = new ArrayList<>();
+					for (String node : config.getList("transfer.nodes")) {
+						uris.add(URI.create(node.strip()));
+					}
+					if (uris.isEmpty()) {
+						uris.add(URI.create(config.getString("transfer.url", "")));
+					}
+					instance = new UpstreamBalancer(uris, config.getInt("transfer.balancer.virtualNodes", 100),
+							config.getString("transfer.health.path", ""), config.getLong("transfer.health.intervalMs", 5_000));
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Picks the node for a request.
+	 *
+	 * @param requestId the request identifier, typically the DTO hash.
+	 * @return the client of the chosen node.
+	 */
+	public TransferClient select(String requestId) {
+		Node preferred = nodes.length == 1 ? nodes[0] : nodes[owners[indexOf(hash(requestId == null ? "" : requestId))]];
+		if (nodes.length == 1 || (preferred.isAvailable() && !preferred.client.getLimiter().isSaturated())) {
+			preferred.preferred.increment();
+			return preferred.client;
+		}
+
+		Node best = null;
+		for (Node node : nodes) {
+			if (node.isAvailable() && !node.client.getLimiter().isSaturated() && (best == null || node.client.getInFlight() < best.client.getInFlight())) {
+				best = node;
+			}
+		}
+		if (best == null) {
+			preferred.preferred.increment();
+			return preferred.client;
+		}
+
+		best.fallbacks.increment();
+		return best.client;
+	}
+
+	private int indexOf(long hash) {
+		int index = Arrays.binarySearch(ring, hash);
+		if (index < 0) {
+			index = -index - 1;
+		}
+		return index == ring.length ? 0 : index;
+	}
+
+	/**
+	 * FNV-1a over the UTF-8 bytes, finished with the SplitMix64 mixer to spread similar keys around the ring.
+	 */
+	static long hash(String key) {
+		long h = 0xcbf29ce484222325L;
+		for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+			h ^= b;
+			h *= 0x100000001b3L;
+		}
+		h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+		h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+		return h ^ (h >>> 31);
+	}
+
+	private void checkHealth(long intervalMs) {
+		while (true) {
+			try {
+				Thread.sleep(intervalMs);
+			} catch (InterruptedException e) {
+				return;
+			}
+
+			List<CompletableFuture<Void>> probes = new ArrayList<>(nodes.length);
+			for (Node node : nodes) {
+				probes.add(node.client.probe(node.healthUri, healthTimeout).thenAccept(healthy -> node.healthy = healthy));
+			}
+			CompletableFuture.allOf(probes.toArray(CompletableFuture[]::new)).exceptionally(failure -> null).join();
+		}
+	}
+
+	/**
+	 * Returns the nodes with their health, load and routing counters.
+	 */
+	public List<Map<String, Object>> getStats() {
+		List<Map<String, Object>> stats = new ArrayList<>(nodes.length);
+		for (Node node : nodes) {
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put("uri", node.client.getUri().toString());
+			entry.put("healthy", node.healthy);
+			entry.put("breaker", node.client.getBreaker().getState().name());
+			entry.put("saturated", node.client.getLimiter().isSaturated());
+			entry.put("inFlight", node.client.getInFlight());
+			entry.put("preferred", node.preferred.sum());
+			entry.put("fallbacks", node.fallbacks.sum());
+			stats.add(entry);
+		}
+		return stats;
+	}
+}
@@ -0,0 +1,62 @@
+package org.norsh.api.transport.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Embedded {@link MessageQueue} for local tests, with no broker to run.
+ * <p>
+ * Each subscription owns an unbounded queue drained by its own thread in batches of up to {@value #MAX_BATCH}
+ * messages. Messages published to a topic before anyone subscribed to it are dropped.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class InMemoryMessageQueue implements MessageQueue {
+	private static final int MAX_BATCH = 512;
+
+	private final Map<String, List<BlockingQueue<Message>>> subscriptions = new ConcurrentHashMap<>();
+	private final List<Thread> dispatchers = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void publish(String topic, List<Message> messages, BiConsumer<Message, Throwable> onFailure) {
+		for (BlockingQueue<Message> queue : subscriptions.getOrDefault(topic, List.of())) {
+			queue.addAll(messages);
+		}
+	}
+
+	@Override
+	public void subscribe(String topic, Consumer<List<Message>> handler) {
+		BlockingQueue<Message> queue = new LinkedBlockingQueue<>();
+		subscriptions.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(queue);
+
+		dispatchers.add(Thread.ofPlatform().name("memory-queue-" + topic).daemon().start(() -> {
+			List<Message> batch = new ArrayList<>(MAX_BATCH);
+			try {
+				while (true) {
+					batch.add(queue.take());
+					queue.drainTo(batch, MAX_BATCH - 1);
+					handler.accept(List.copyOf(batch));
+					batch.clear();
+				}
+			} catch (InterruptedException e) {
+				// Closed
+			}
+		}));
+	}
+
+	@Override
+	public void close() {
+		dispatchers.forEach(Thread::interrupt);
+	}
+}
@@ -0,0 +1,127 @@
+package org.norsh.api.transport.queue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.norsh.api.config.ApiConfig;
+
+/**
+ * {@link MessageQueue} backed by Kafka.
+ * <p>
+ * A single producer is shared by all publishers; it batches records per partition for up to {@code kafka.lingerMs}
+ * milliseconds or {@code kafka.batchSize} bytes. Each subscription runs its own consumer thread in a consumer group
+ * unique to this instance ({@code kafka.groupId} plus a random suffix), starting from the latest offset, so every
+ * instance receives every reply.
+ * </p>
+ *
+ * <h2>Configuration ({@code api.json}):</h2>
+ * <ul>
+ * <li>{@code kafka.bootstrapServers}: the brokers.</li>
+ * <li>{@code kafka.groupId}: prefix of the consumer groups.</li>
+ * <li>{@code kafka.lingerMs}, {@code kafka.batchSize}: producer batching.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class KafkaMessageQueue implements MessageQueue {
+	private final String bootstrapServers;
+	private final String groupId;
+	private final KafkaProducer<String, byte[]> producer;
+	private final List<KafkaConsumer<String, byte[]>> consumers = new CopyOnWriteArrayList<>();
+
+	public KafkaMessageQueue(String bootstrapServers, String groupId, long lingerMs, int batchSize) {
+		this.bootstrapServers = bootstrapServers;
+		this.groupId = groupId + "-" + UUID.randomUUID();
+
+		Properties properties = new Properties();
+		properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+		properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+		properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+		properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+		properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+		this.producer = new KafkaProducer<>(properties);
+	}
+
+	/**
+	 * Creates a queue from the {@code kafka} block of {@code api.json}.
+	 */
+	public static KafkaMessageQueue fromConfig() {
+		ApiConfig config = ApiConfig.getInstance();
+		return new KafkaMessageQueue(config.getString("kafka.bootstrapServers", "localhost:9092"), config.getString("kafka.groupId", "norsh-group"),
+				config.getLong("kafka.lingerMs", 5), config.getInt("kafka.batchSize", 65_536));
+	}
+
+	@Override
+	public void publish(String topic, List<Message> messages, BiConsumer<Message, Throwable> onFailure) {
+		for (Message message : messages) {
+			try {
+				producer.send(new ProducerRecord<>(topic, message.key(), message.value()), (metadata, failure) -> {
+					if (failure != null) {
+						onFailure.accept(message, failure);
+					}
+				});
+			} catch (RuntimeException e) {
+				onFailure.accept(message, e);
+			}
+		}
+	}
+
+	@Override
+	public void subscribe(String topic, Consumer<List<Message>> handler) {
+		Properties properties = new Properties();
+		properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+		properties.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+		properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+		properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+		properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+		KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(properties);
+		consumers.add(consumer);
+
+		Thread.ofPlatform().name("kafka-consumer-" + topic).daemon().start(() -> {
+			try (consumer) {
+				consumer.subscribe(List.of(topic));
+				while (true) {
+					ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(100));
+					if (records.isEmpty()) {
+						continue;
+					}
+					List<Message> batch = new ArrayList<>(records.count());
+					for (ConsumerRecord<String, byte[]> record : records) {
+						batch.add(new Message(record.key(), record.value()));
+					}
+					handler.accept(batch);
+				}
+			} catch (WakeupException e) {
+				// Closed
+			}
+		});
+	}
+
+	@Override
+	public void close() {
+		consumers.forEach(KafkaConsumer::wakeup);
+		producer.close();
+	}
+}
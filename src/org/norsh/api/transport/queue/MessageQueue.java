@@ -0,0 +1,47 @@
+package org.norsh.api.transport.queue;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Minimal publish/subscribe abstraction over a message broker, as used by {@link QueueTransport}.
+ * <p>
+ * Messages are published and delivered in batches. Every subscription receives every message published to its topic
+ * after it was created, so each API instance sees all replies and keeps the ones it is waiting for.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public interface MessageQueue extends AutoCloseable {
+	/**
+	 * A keyed message; the key is the request id of the transfer it carries.
+	 */
+	record Message(String key, byte[] value) {
+	}
+
+	/**
+	 * Publishes messages to a topic without waiting for the broker to acknowledge them.
+	 */
+	default void publish(String topic, List<Message> messages) {
+		publish(topic, messages, (message, failure) -> {
+		});
+	}
+
+	/**
+	 * Publishes messages to a topic without waiting for the broker to acknowledge them, reporting each message the
+	 * broker fails to accept to {@code onFailure}, possibly on a thread owned by the queue and after this returns.
+	 */
+	void publish(String topic, List<Message> messages, BiConsumer<Message, Throwable> onFailure);
+
+	/**
+	 * Delivers the messages of a topic, in batches, to {@code handler} on a thread owned by the queue.
+	 */
+	void subscribe(String topic, Consumer<List<Message>> handler);
+
+	@Override
+	void close();
+}
@@ -0,0 +1,217 @@
+package org.norsh.api.transport.queue;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.exceptions.ServiceUnavailableException;
+import org.norsh.api.limits.Deadline;
+import org.norsh.api.metrics.Phase;
+import org.norsh.api.metrics.RouteMetrics;
+import org.norsh.api.transport.JsonBodies;
+import org.norsh.api.transport.TransferReply;
+import org.norsh.api.transport.Transport;
+import org.norsh.api.transport.queue.MessageQueue.Message;
+import org.norsh.model.transport.DataTransfer;
+
+/**
+ * {@link Transport} publishing transfers to a {@link MessageQueue} and matching the replies by request id.
+ * <p>
+ * Submission is decoupled from the blockchain round trip: callers only enqueue, and a single flusher thread serializes
+ * and publishes pending transfers in batches. Replies consumed from the reply topic complete the waiting callers, so a
+ * traffic spike builds up in the broker instead of in connections to the upstream.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Single transfers are published as soon as the flusher wakes, together with whatever else is queued; bulk
+ * transfers wait up to {@code transfer.queue.windowMs} for a fuller batch of up to {@code transfer.queue.maxSize}.</li>
+ * <li>Callers waiting longer than {@code transfer.timeoutMs}, or past their request deadline, fail with a timeout.
+ * Cancelled callers stop waiting; their reply is ignored when it arrives.</li>
+ * <li>At most {@code transfer.queue.maxPending} transfers wait for a reply; beyond that, and for a request id already
+ * waiting, submissions are refused with HTTP 503.</li>
+ * <li>A transfer that cannot be serialized, or that the broker fails to accept, fails its own caller only.</li>
+ * <li>Replies for request ids this instance is not waiting for are ignored.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+public class QueueTransport implements Transport {
+	private record Outgoing(DataTransfer transfer, RouteMetrics metrics, CompletableFuture<TransferReply> future) {
+	}
+
+	private final MessageQueue queue;
+	private final String requestTopic;
+	private final long windowNanos;
+	private final int maxSize;
+	private final int maxPending;
+	private final long timeoutMs;
+
+	private final Map<String, CompletableFuture<TransferReply>> waiting = new ConcurrentHashMap<>();
+	private final Queue<Outgoing> outbox = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final AtomicBoolean urgent = new AtomicBoolean();
+	private final Thread flusher;
+
+	public QueueTransport(MessageQueue queue, String requestTopic, String replyTopic, long windowMs, int maxSize, int maxPending, long timeoutMs) {
+		this.queue = queue;
+		this.requestTopic = requestTopic;
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+		this.maxSize = Math.max(1, maxSize);
+		this.maxPending = maxPending;
+		this.timeoutMs = timeoutMs;
+
+		queue.subscribe(replyTopic, this::onReplies);
+		this.flusher = Thread.ofPlatform().name("queue-transport").daemon().start(this::run);
+	}
+
+	/**
+	 * Creates a transport over {@code queue} configured from {@code api.json}.
+	 */
+	public static QueueTransport fromConfig(MessageQueue queue, String requestTopic, String replyTopic) {
+		ApiConfig config = ApiConfig.getInstance();
+		return new QueueTransport(queue, requestTopic, replyTopic,
+				config.getLong("transfer.queue.windowMs", 5),
+				config.getInt("transfer.queue.maxSize", 500),
+				config.getInt("transfer.queue.maxPending", 100_000),
+				config.getLong("transfer.timeoutMs", config.getLong("defaults.messagingTimeoutMs", 30_000)));
+	}
+
+	@Override
+	public CompletableFuture<TransferReply> send(DataTransfer transfer, boolean bulk, RouteMetrics metrics, Deadline deadline) {
+		if (waiting.size() >= maxPending) {
+			return CompletableFuture.failedFuture(new ServiceUnavailableException(1, "Transfer queue is full."));
+		}
+
+		String requestId = transfer.getRequestId();
+		CompletableFuture<TransferReply> future = new CompletableFuture<>();
+		if (waiting.putIfAbsent(requestId, future) != null) {
+			return CompletableFuture.failedFuture(new ServiceUnavailableException(1, "A transfer with the same request id is awaiting its reply."));
+		}
+		long waitMs = deadline == null ? timeoutMs : Math.min(timeoutMs, deadline.remainingMillis());
+		future.orTimeout(waitMs, TimeUnit.MILLISECONDS).whenComplete((reply, failure) -> waiting.remove(requestId, future));
+
+		outbox.add(new Outgoing(transfer, metrics, future));
+		int pending = size.incrementAndGet();
+		if (!bulk) {
+			urgent.set(true);
+		}
+		if (!bulk || pending == 1 || pending >= maxSize) {
+			LockSupport.unpark(flusher);
+		}
+		return future;
+	}
+
+	private void run() {
+		while (true) {
+			if (size.get() == 0) {
+				LockSupport.park(this);
+				continue;
+			}
+
+			if (!urgent.getAndSet(false)) {
+				long deadline = System.nanoTime() + windowNanos;
+				long remaining;
+				while (size.get() < maxSize && !urgent.get() && (remaining = deadline - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(this, remaining);
+				}
+				urgent.set(false);
+			}
+
+			List<Outgoing> batch = new ArrayList<>(Math.min(size.get(), maxSize));
+			Outgoing outgoing;
+			while (batch.size() < maxSize && (outgoing = outbox.poll()) != null) {
+				batch.add(outgoing);
+			}
+			size.addAndGet(-batch.size());
+
+			if (!batch.isEmpty()) {
+				publish(batch);
+			}
+		}
+	}
+
+	private void publish(List<Outgoing> batch) {
+		List<Message> messages = new ArrayList<>(batch.size());
+		Map<Message, Outgoing> senders = new IdentityHashMap<>(batch.size() * 2);
+		for (Outgoing outgoing : batch) {
+			long start = System.nanoTime();
+			Message message;
+			try {
+				message = new Message(outgoing.transfer().getRequestId(), JsonBodies.toBytes(outgoing.transfer()));
+			} catch (RuntimeException e) {
+				// Only this transfer fails; the flusher keeps serving the others
+				fail(outgoing, e);
+				continue;
+			}
+			messages.add(message);
+			senders.put(message, outgoing);
+			if (outgoing.metrics() != null) {
+				outgoing.metrics().record(Phase.SERIALIZE, start);
+			}
+		}
+		if (messages.isEmpty()) {
+			return;
+		}
+
+		try {
+			queue.publish(requestTopic, messages, (message, failure) -> fail(senders.get(message), failure));
+		} catch (RuntimeException e) {
+			batch.forEach(outgoing -> fail(outgoing, e));
+		}
+	}
+
+	/**
+	 * Fails the caller of a transfer the broker did not get, unless it has stopped waiting. A caller that timed out may
+	 * already have been replaced by a retry with the same request id, which is left alone.
+	 */
+	private void fail(Outgoing outgoing, Throwable failure) {
+		if (outgoing != null && waiting.remove(outgoing.transfer().getRequestId(), outgoing.future())) {
+			outgoing.future().completeExceptionally(failure);
+		}
+	}
+
+	private void onReplies(List<Message> replies) {
+		for (Message message : replies) {
+			DataTransfer reply;
+			try {
+				reply = JsonBodies.read(message.value(), DataTransfer.class);
+			} catch (RuntimeException e) {
+				CompletableFuture<TransferReply> future = message.key() == null ? null : waiting.remove(message.key());
+				if (future != null) {
+					future.completeExceptionally(e);
+				}
+				continue;
+			}
+			if (reply == null) {
+				continue;
+			}
+
+			String requestId = reply.getRequestId() != null ? reply.getRequestId() : message.key();
+			CompletableFuture<TransferReply> future = requestId == null ? null : waiting.remove(requestId);
+			if (future != null) {
+				future.complete(new TransferReply(reply, null));
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of transfers waiting for a reply.
+	 */
+	public int getPending() {
+		return waiting.size();
+	}
+}
@@ -1,22 +1,46 @@
 package org.norsh.api.v1;
 
 import java.io.IOException;
-import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.http.HttpClient;
-import java.net.http.HttpClient.Version;
-import java.net.http.HttpRequest;
-import java.net.http.HttpRequest.BodyPublishers;
-import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
-import java.time.Duration;
-import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
+import org.norsh.api.cache.ExpiringCache;
 import org.norsh.api.config.ApiConfig;
+import org.norsh.api.exceptions.GatewayTimeoutException;
+import org.norsh.api.exceptions.InvalidRequestException;
+import org.norsh.api.exceptions.RejectedRequestException;
+import org.norsh.api.exceptions.TooManyRequestsException;
+import org.norsh.api.limits.Bulkheads;
+import org.norsh.api.limits.Deadline;
+import org.norsh.api.limits.RateLimits;
+import org.norsh.api.limits.RouteClass;
+import org.norsh.api.metrics.Metrics;
+import org.norsh.api.metrics.Phase;
+import org.norsh.api.metrics.RequestTimer;
+import org.norsh.api.metrics.RouteMetrics;
+import org.norsh.api.requests.RequestStatus;
+import org.norsh.api.requests.RequestStatusStore;
+import org.norsh.api.transport.Futures;
+import org.norsh.api.transport.TransferBatcher;
+import org.norsh.api.transport.TransferReply;
+import org.norsh.api.transport.Transport;
+import org.norsh.exceptions.InternalException;
+import org.norsh.exceptions.NorshException;
 import org.norsh.model.transport.DataTransfer;
+import org.norsh.rest.RestMethod;
 import org.norsh.rest.RestRequest;
 import org.norsh.rest.RestResponse;
-import org.norsh.util.Converter;
 
 /**
  * Abstract base class for API version 1 controllers.
@@ -36,6 +60,20 @@ import org.norsh.util.Converter;
  * <ul>
  * <li>Ensures API controllers adhere to a standardized structure.</li>
  * <li>Simplifies future extensibility and integration of cross-cutting concerns.</li>
+ * <li>Forwards requests to the blockchain through the {@link Transport} selected by {@code transfer.transport} in
+ * {@code api.json}: HTTP by default, or a message queue.</li>
+ * <li>Optionally marks writes for micro-batching ({@code transfer.batch.enabled}), e.g. through the
+ * {@link TransferBatcher}.</li>
+ * <li>Coalesces concurrent duplicates and answers retried writes from an idempotency cache.</li>
+ * <li>Times body parsing, validation, serialization, the upstream call and the handler per route (see
+ * {@link Metrics}).</li>
+ * <li>Sheds load with HTTP 503 when the upstream is saturated or failing.</li>
+ * <li>Rate limits writes per client and per sender with HTTP 429 (see {@link RateLimits}).</li>
+ * <li>Holds a {@link RouteClass#WRITE} slot of the {@link Bulkheads} while a write waits for the blockchain.</li>
+ * <li>Bounds every forwarded request by its {@link Deadline}: past it the request fails with HTTP 504, and an upstream
+ * call no request waits for anymore is cancelled.</li>
+ * <li>Optionally answers writes with HTTP 202 and tracks their outcome in the {@link RequestStatusStore}, enabled by
+ * {@code requests.acceptAsync} or per request with {@code Prefer: respond-async}.</li>
  * </ul>
  *
  * @since 1.0.0
@@ -44,45 +82,447 @@ import org.norsh.util.Converter;
  * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
  */
 public abstract class ApiV1 {
-	private	HttpClient client = HttpClient.newBuilder().build();
+	private static final boolean BATCHING = ApiConfig.getInstance().getBoolean("transfer.batch.enabled", false);
+	private static final boolean ACCEPT_ASYNC = ApiConfig.getInstance().getBoolean("requests.acceptAsync", false);
+
+	private static final ConcurrentHashMap<String, Flight> IN_FLIGHT = new ConcurrentHashMap<>();
+	private static final ScheduledThreadPoolExecutor DEADLINES = createDeadlineTimer();
+	private static final ExecutorService ACCEPTED = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("accepted-forward-", 0).factory());
+	private static final ExpiringCache<String, TransferReply> IDEMPOTENCY_CACHE = new ExpiringCache<>("idempotency",
+			ApiConfig.getInstance().getInt("cache.idempotency.maxSize", 100_000),
+			ApiConfig.getInstance().getLong("defaults.messagingTtlMs", 600_000), false);
+
+	private static ScheduledThreadPoolExecutor createDeadlineTimer() {
+		ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name("request-deadlines").daemon().factory());
+		timer.setRemoveOnCancelPolicy(true);
+		return timer;
+	}
+
+	private final Transport transport;
+
+	protected ApiV1() {
+		this(null);
+	}
+
+	/**
+	 * Creates a controller forwarding through {@code transport} instead of the one configured in {@code api.json}.
+	 */
+	ApiV1(Transport transport) {
+		this.transport = transport;
+	}
+
+	private Transport transport() {
+		return transport != null ? transport : Transport.getInstance();
+	}
+
 	/**
 	 * Processes a Smart Element request, forwarding it to the queue and caching its status.
 	 *
 	 * @param restRequest The unique request identifier.
 	 * @param data    The payload to be sent to the processing queue.
-	 * @return a response confirming that the request has been accepted for processing.
+	 * @return the upstream answer, see {@link #processRequest(RestRequest, RestResponse, String, String, Object)}; only
+	 *         the client rate limit applies, as there is no sender.
 	 * @throws URISyntaxException 
 	 */
-	protected void processRequest(RestRequest restRequest, RestResponse restResponse, String requestId, Object o) throws IOException, InterruptedException, URISyntaxException {
-		DataTransfer requestTransfer = new DataTransfer(requestId, restRequest.getRestMethod(), o);
-		String json = Converter.toJson(requestTransfer);
-		
-		HttpRequest httpRequest = HttpRequest.newBuilder()
-				.uri(new URI(ApiConfig.getInstance().get("transfer.url", "")))
-				.timeout(Duration.ofSeconds(30))
-				.header("Content-Type", "application/json")
-				.version(Version.HTTP_1_1)
-				.expectContinue(false)
-				.POST(BodyPublishers.ofString(json))
-				.build();
-		
-		HttpResponse<String> httpResponse = client.send(httpRequest, BodyHandlers.ofString());
-		
-		Optional<String> duration = httpResponse.headers().firstValue("X-Duration");
-		if (duration.isPresent()) {
-			restResponse.addHeader("X-Duration-Blockchain", String.valueOf(duration.get()));
+	protected CompletableFuture<TransferReply> processRequest(RestRequest restRequest, RestResponse restResponse, String requestId, Object o) throws IOException, InterruptedException, URISyntaxException {
+		return processRequest(restRequest, restResponse, null, requestId, o);
+	}
+
+	/**
+	 * Processes a write on behalf of a sender, after taking a token from the {@link RateLimits} of its client and of
+	 * {@code sender}.
+	 *
+	 * @param sender the key the write is rate limited by, e.g. the public key signing it; {@code null} for none.
+	 * @return the upstream answer: already complete when the client waited for it, or completed later when the write was
+	 *         answered with HTTP 202.
+	 * @throws TooManyRequestsException if the client or the sender is over its rate limit.
+	 */
+	protected CompletableFuture<TransferReply> processRequest(RestRequest restRequest, RestResponse restResponse, String sender, String requestId, Object o) throws IOException, InterruptedException, URISyntaxException {
+		RateLimits.getInstance().checkClient(restRequest);
+		RateLimits.getInstance().checkSender(sender);
+
+		if (isAccepted(restRequest)) {
+			return accept(restRequest, restResponse, requestId, o);
+		}
+
+		TransferReply reply;
+		try (Bulkheads.Permit permit = Bulkheads.getInstance().enter(RouteClass.WRITE)) {
+			reply = awaitUpstream(restRequest, forward(restRequest, requestId, o));
+		}
+		applyResponse(restResponse, reply);
+		RequestTimer.finish(restRequest, statusOf(reply.transfer()));
+		return CompletableFuture.completedFuture(reply);
+	}
+
+	/**
+	 * Answers a write with HTTP 202 and the request identifier, then tracks the blockchain outcome in the
+	 * {@link RequestStatusStore}, where {@code GET /v1/requests/{id}} serves it.
+	 * <p>
+	 * The transfer is started on a virtual thread of its own whatever {@code transfer.mode} says, so the HTTP 202 is
+	 * answered before the blockchain is even contacted.
+	 * </p>
+	 *
+	 * <h2>Example Response:</h2>
+	 * <pre>
+	 * { "requestId": "9f86d0...", "state": "PENDING", "status": 202, "updatedAt": 1735689600000 }
+	 * </pre>
+	 *
+	 * @return the upstream answer.
+	 */
+	private CompletableFuture<TransferReply> accept(RestRequest restRequest, RestResponse restResponse, String requestId, Object o) {
+		RequestStatusStore store = RequestStatusStore.getInstance();
+		RequestStatus pending = RequestStatus.pending(requestId);
+		store.put(pending);
+
+		// The client does not wait for the answer, so the transfer is not bound to the request deadline. It is started on
+		// its own thread: a synchronous transport would otherwise hold the handler for the whole round trip.
+		RouteMetrics metrics = RequestTimer.begin(restRequest);
+		RestMethod method = restRequest.getRestMethod();
+		CompletableFuture<TransferReply> reply = CompletableFuture.supplyAsync(() -> forward(metrics, method, requestId, o, isBatched(method), null), ACCEPTED)
+				.thenCompose(Function.identity());
+		reply.whenComplete((answer, failure) -> {
+			if (failure == null) {
+				int status = statusOf(answer.transfer());
+				store.put(RequestStatus.completed(requestId, status, status == 200 ? answer.transfer().getResponseData() : answer.transfer().toResponse()));
+			} else {
+				Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+				int status = cause instanceof RejectedRequestException rejected ? rejected.getStatus() : 502;
+				store.put(RequestStatus.failed(requestId, status, cause.getMessage()));
+			}
+		});
+
+		restResponse.addHeader("Location", "/v1/requests/" + requestId);
+		restResponse.setBody(202, pending);
+		RequestTimer.finish(restRequest, 202);
+		return reply;
+	}
+
+	/**
+	 * Tells whether a write is answered with HTTP 202: always when {@code requests.acceptAsync} is set, otherwise when
+	 * the client sends {@code Prefer: respond-async}.
+	 */
+	private static boolean isAccepted(RestRequest restRequest) {
+		if (restRequest.getRestMethod() == RestMethod.GET) {
+			return false;
+		}
+		if (ACCEPT_ASYNC) {
+			return true;
+		}
+		String prefer = restRequest.getHeader("Prefer");
+		return prefer != null && prefer.contains("respond-async");
+	}
+
+	/**
+	 * Reads the request body, timing it as the {@link Phase#PARSE} phase of the route.
+	 *
+	 * @param restRequest the incoming request.
+	 * @param type        the DTO type.
+	 * @return the parsed body.
+	 * @throws InvalidRequestException if the request has no body.
+	 */
+	protected <T> T readBody(RestRequest restRequest, Class<T> type) {
+		RequestTimer.begin(restRequest);
+		long start = System.nanoTime();
+		T body = restRequest.getBody(type);
+		RequestTimer.record(restRequest, Phase.PARSE, start);
+		if (body == null) {
+			throw InvalidRequestException.MISSING_BODY;
+		}
+		return body;
+	}
+
+	/**
+	 * Runs a DTO validation, timing it as the {@link Phase#VALIDATE} phase of the route.
+	 * <p>
+	 * Validation failures are rethrown as stackless {@link InvalidRequestException}s with the same message and details,
+	 * answered with HTTP 400, so the error path neither keeps nor logs their stack. {@link InternalException}s are
+	 * unexpected and propagate as they are.
+	 * </p>
+	 *
+	 * @param restRequest the incoming request.
+	 * @param validation  the validation, typically {@code dto::validate}.
+	 * @throws InvalidRequestException if the DTO is not valid.
+	 */
+	protected void validate(RestRequest restRequest, Validation validation) throws Exception {
+		RequestTimer.begin(restRequest);
+		long start = System.nanoTime();
+		try {
+			validation.validate();
+		} catch (InternalException e) {
+			throw e;
+		} catch (NorshException e) {
+			throw InvalidRequestException.of(e);
+		} finally {
+			RequestTimer.record(restRequest, Phase.VALIDATE, start);
+		}
+	}
+
+	/**
+	 * A DTO validation step.
+	 */
+	@FunctionalInterface
+	protected interface Validation {
+		void validate() throws Exception;
+	}
+
+	/**
+	 * Sends a payload to the blockchain.
+	 * <p>
+	 * Concurrent requests sharing the same method and {@code requestId} are coalesced into a single upstream call, and
+	 * successful or already existing writes are answered from the idempotency cache for {@code defaults.messagingTtlMs}. Writes are sent as
+	 * bulk transfers, which the HTTP transport routes through the {@link TransferBatcher}, when
+	 * {@code transfer.batch.enabled} is set; reads are always sent individually.
+	 * </p>
+	 *
+	 * @param restRequest the incoming request.
+	 * @param requestId   the unique request identifier.
+	 * @param o           the payload to forward.
+	 * @return a future completed with the upstream answer.
+	 */
+	protected CompletableFuture<TransferReply> forward(RestRequest restRequest, String requestId, Object o) {
+		return forward(RequestTimer.begin(restRequest), restRequest.getRestMethod(), requestId, o, isBatched(restRequest.getRestMethod()), Deadline.of(restRequest));
+	}
+
+	/**
+	 * Sends a payload to the blockchain as a bulk transfer, regardless of {@code transfer.batch.enabled}.
+	 * <p>
+	 * Used by bulk endpoints, which submit many transfers at once and benefit from sharing upstream calls.
+	 * </p>
+	 *
+	 * @param restRequest the incoming request.
+	 * @param requestId   the unique request identifier.
+	 * @param o           the payload to forward.
+	 * @return a future completed with the upstream answer.
+	 */
+	protected CompletableFuture<TransferReply> forwardBulk(RestRequest restRequest, String requestId, Object o) {
+		return forward(RequestTimer.begin(restRequest), restRequest.getRestMethod(), requestId, o, true, Deadline.of(restRequest));
+	}
+
+	/**
+	 * Sends a payload to the blockchain outside of an incoming request, with no route metrics attached. Used by the
+	 * benchmarks under {@code bench/} to drive the forwarding path without the HTTP server.
+	 */
+	CompletableFuture<TransferReply> forward(RestMethod method, String requestId, Object o) {
+		return forward(null, method, requestId, o, isBatched(method), null);
+	}
+
+	private CompletableFuture<TransferReply> forward(RouteMetrics metrics, RestMethod method, String requestId, Object o, boolean batched, Deadline deadline) {
+		String key = method + ":" + requestId;
+		boolean write = method != RestMethod.GET;
+
+		if (write) {
+			TransferReply settled = IDEMPOTENCY_CACHE.get(key);
+			if (settled != null) {
+				return CompletableFuture.completedFuture(settled);
+			}
+		}
+		if (deadline != null && deadline.isExpired()) {
+			return CompletableFuture.failedFuture(GatewayTimeoutException.DEADLINE_EXCEEDED);
+		}
+
+		while (true) {
+			Flight flight = new Flight(key);
+			Flight leader = IN_FLIGHT.putIfAbsent(key, flight);
+			if (leader == null) {
+				try {
+					start(flight, metrics, method, requestId, o, batched, deadline, write);
+				} catch (RuntimeException e) {
+					// The transport failed before sending, e.g. serializing the payload: release the waiters at once
+					Metrics.getInstance().recordUpstreamFailure();
+					IN_FLIGHT.remove(key, flight);
+					flight.result.completeExceptionally(e);
+				}
+				return flight.view(deadline);
+			}
+			if (leader.join()) {
+				return leader.view(deadline);
+			}
+			// Every waiter of that call left and it is being cancelled
+			IN_FLIGHT.remove(key, leader);
+		}
+	}
+
+	private void start(Flight flight, RouteMetrics metrics, RestMethod method, String requestId, Object o, boolean batched, Deadline deadline, boolean write) {
+		long start = System.nanoTime();
+		CompletableFuture<TransferReply> upstream = transport().send(new DataTransfer(requestId, method, o), batched, metrics, deadline);
+		flight.upstream = upstream;
+		upstream.whenComplete((reply, failure) -> {
+			if (metrics != null) {
+				metrics.record(Phase.UPSTREAM, start);
+			}
+			if (failure != null) {
+				Throwable cause = Futures.unwrap(failure);
+				if (cause instanceof CancellationException) {
+					Metrics.getInstance().recordUpstreamAbandoned();
+				} else {
+					Metrics.getInstance().recordUpstreamFailure();
+				}
+			} else {
+				Metrics.getInstance().recordUpstreamStatus(reply.transfer().getStatus());
+			}
+
+			if (failure == null && write && isSettled(reply)) {
+				IDEMPOTENCY_CACHE.put(flight.key, reply);
+			}
+			IN_FLIGHT.remove(flight.key, flight);
+
+			if (failure != null) {
+				flight.result.completeExceptionally(failure);
+			} else {
+				flight.result.complete(reply);
+			}
+		});
+	}
+
+	/**
+	 * An upstream call shared by the concurrent requests for the same method and request id.
+	 * <p>
+	 * Each request waits on its own view of the call. A view is given up when its request is cancelled or its deadline
+	 * passes; once every view has been given up, nobody will read the answer and the upstream call is cancelled. The
+	 * call itself carries the deadline of the request that started it.
+	 * </p>
+	 */
+	private static final class Flight {
+		private final String key;
+		private final CompletableFuture<TransferReply> result = new CompletableFuture<>();
+		private final AtomicInteger waiters = new AtomicInteger(1);
+		private volatile CompletableFuture<TransferReply> upstream;
+
+		Flight(String key) {
+			this.key = key;
+		}
+
+		/**
+		 * Adds a waiter, unless every waiter has already left.
+		 */
+		boolean join() {
+			int count;
+			do {
+				count = waiters.get();
+				if (count == 0) {
+					return false;
+				}
+			} while (!waiters.compareAndSet(count, count + 1));
+			return true;
+		}
+
+		CompletableFuture<TransferReply> view(Deadline deadline) {
+			CompletableFuture<TransferReply> view = result.copy();
+			ScheduledFuture<?> timer = deadline == null ? null
+					: DEADLINES.schedule(() -> view.completeExceptionally(GatewayTimeoutException.DEADLINE_EXCEEDED), deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+
+			view.whenComplete((reply, failure) -> {
+				if (timer != null) {
+					timer.cancel(false);
+				}
+				if ((failure instanceof CancellationException || failure == GatewayTimeoutException.DEADLINE_EXCEEDED) && waiters.decrementAndGet() == 0) {
+					IN_FLIGHT.remove(key, this);
+					upstream.cancel(true);
+				}
+			});
+			return view;
+		}
+	}
+
+	/**
+	 * Tells whether an upstream answer is final: a success, or a write the blockchain already holds. Timeouts and errors
+	 * are worth retrying, and refusals such as an insufficient balance depend on state the client can change, so none of
+	 * them is cached.
+	 */
+	private static boolean isSettled(TransferReply reply) {
+		return switch (reply.transfer().getStatus()) {
+			case EXISTS -> true;
+			case TIMEOUT, ERROR, NOT_FOUND, INSUFFICIENT_BALANCE, FORBIDDEN -> false;
+			default -> statusOf(reply.transfer()) == 200;
+		};
+	}
+
+	private static boolean isBatched(RestMethod method) {
+		return BATCHING && method != RestMethod.GET;
+	}
+
+	/**
+	 * Applies an upstream answer to the response, mapping the transfer status to the HTTP status.
+	 *
+	 * @param restResponse the response to populate.
+	 * @param reply        the upstream answer.
+	 */
+	protected void applyResponse(RestResponse restResponse, TransferReply reply) {
+		if (reply.upstreamDuration() != null) {
+			restResponse.addHeader("X-Duration-Blockchain", reply.upstreamDuration());
 		}
 		
-		DataTransfer responseTransfer = Converter.fromJson(httpResponse.body(), DataTransfer.class);
-
-		switch (responseTransfer.getStatus()) {
-			case EXISTS -> restResponse.setBody(209, responseTransfer.toResponse());
-			case TIMEOUT -> restResponse.setBody(408, responseTransfer.toResponse());
-			case NOT_FOUND -> restResponse.setBody(404, responseTransfer.toResponse());
-			case ERROR -> restResponse.setBody(500, responseTransfer.toResponse());
-			case INSUFFICIENT_BALANCE -> restResponse.setBody(402, responseTransfer.toResponse());
-			case FORBIDDEN -> restResponse.setBody(403, responseTransfer.toResponse());
-			default -> restResponse.setBody(responseTransfer.getResponseData());
+		DataTransfer responseTransfer = reply.transfer();
+		int status = statusOf(responseTransfer);
+
+		if (status == 200) {
+			restResponse.setBody(responseTransfer.getResponseData());
+		} else {
+			restResponse.setBody(status, responseTransfer.toResponse());
+		}
+	}
+
+	/**
+	 * Maps a transfer status to the HTTP status returned to the client.
+	 */
+	protected static int statusOf(DataTransfer transfer) {
+		return switch (transfer.getStatus()) {
+			case EXISTS -> 209;
+			case TIMEOUT -> 408;
+			case NOT_FOUND -> 404;
+			case ERROR -> 500;
+			case INSUFFICIENT_BALANCE -> 402;
+			case FORBIDDEN -> 403;
+			default -> 200;
 		};
 	}
+
+	/**
+	 * Tells whether an upstream answer carries response data rather than an error status.
+	 */
+	protected static boolean isSuccessful(TransferReply reply) {
+		return statusOf(reply.transfer()) == 200;
+	}
+
+	/**
+	 * Waits for an upstream answer like {@link #await(CompletableFuture)}, counting the wait as the upstream share of the
+	 * request in its access line.
+	 */
+	protected static <T> T awaitUpstream(RestRequest restRequest, CompletableFuture<T> future) throws IOException, InterruptedException {
+		long start = System.nanoTime();
+		try {
+			return await(future);
+		} finally {
+			RequestTimer.recordUpstreamWait(restRequest, start);
+		}
+	}
+
+	/**
+	 * Waits for an asynchronous exchange, unwrapping the failure so callers see the same exceptions as the synchronous
+	 * path. If the waiting thread is interrupted, the exchange is cancelled.
+	 * <p>
+	 * Handlers run on virtual threads, so waiting parks the handler without holding a platform thread.
+	 * </p>
+	 */
+	protected static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			// The handler thread was interrupted, e.g. because its client went away: stop waiting for the answer
+			future.cancel(true);
+			throw e;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException io) {
+				throw io;
+			} else if (cause instanceof InterruptedException ie) {
+				throw ie;
+			} else if (cause instanceof RuntimeException re) {
+				throw re;
+			} else if (cause instanceof Error err) {
+				throw err;
+			}
+			throw new IOException(cause);
+		}
+	}
 }
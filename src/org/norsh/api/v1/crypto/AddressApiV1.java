@@ -1,7 +1,20 @@
 package org.norsh.api.v1.crypto;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.norsh.api.cache.ExpiringCache;
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.exceptions.InvalidRequestException;
+import org.norsh.api.limits.Bulkheads;
+import org.norsh.api.limits.RouteClass;
+import org.norsh.api.metrics.RequestTimer;
 import org.norsh.exceptions.InternalException;
 import org.norsh.exceptions.NorshException;
 import org.norsh.model.dtos.crypto.AddressApiV1GenerateDto;
@@ -16,7 +29,8 @@ import org.norsh.util.Converter;
 /**
  * API controller for handling cryptographic address generation.
  * <p>
- * This endpoint generates a unique cryptographic address based on the provided public key.
+ * This endpoint generates a unique cryptographic address based on the provided public key. Derived addresses are cached
+ * by public key content, so wallets asking repeatedly for the same key skip key reconstruction and hashing.
  * </p>
  *
  * @since 1.0.0
@@ -26,34 +40,144 @@ import org.norsh.util.Converter;
  */
 @Mapping("/v1/crypto/address")
 public class AddressApiV1 {
+	private static final int MAX_BULK_SIZE = ApiConfig.getInstance().getInt("crypto.address.bulkMaxSize", 10_000);
 
-    /**
-     * Generates a cryptographic address from a provided public key.
-     * <p>
-     * The address is derived using a SHA3-256 hash of the public key in either Base64 or Hexadecimal format.
-     * </p>
-     *
-     * @param body a {@link AddressApiV1GenerateDto} containing the public key.
-     * @return a {@link ResponseEntity} containing the generated address or an error response.
-     * @throws NorshException if the public key is missing or invalid.
-     * @throws InternalException if an unexpected error occurs during processing.
-     * @see <a href="https://docs.norsh.org/v1/crypto/address/generate">Generates an address from a public key.</a>
-     */
+	/** Keyed by {@link ByteBuffer}, whose equality and hash code follow the buffer content. */
+	private static final ExpiringCache<ByteBuffer, String> addresses = new ExpiringCache<>("addresses",
+			ApiConfig.getInstance().getInt("cache.addresses.maxSize", 100_000),
+			ApiConfig.getInstance().getLong("cache.addresses.ttlMs", 3_600_000), true);
+	private static final ExecutorService derivers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+			Thread.ofPlatform().name("address-deriver-", 0).daemon().factory());
+
+	/**
+	 * Generates a cryptographic address from a provided public key.
+	 * <p>
+	 * The address is derived using a SHA3-256 hash of the public key in either Base64 or Hexadecimal format.
+	 * </p>
+	 *
+	 * @param body a {@link AddressApiV1GenerateDto} containing the public key.
+	 * @return a {@link ResponseEntity} containing the generated address or an error response.
+	 * @throws NorshException if the public key is missing or invalid.
+	 * @throws InternalException if an unexpected error occurs during processing.
+	 * @see <a href="https://docs.norsh.org/v1/crypto/address/generate">Generates an address from a public key.</a>
+	 */
 	@Mapping(value="/generate", method = RestMethod.POST)
 	public void generate(RestRequest request, RestResponse response) throws Exception {
-		AddressApiV1GenerateDto body = request.getBody(AddressApiV1GenerateDto.class);
-        try {
-        	byte[] publicKeyBytes = Converter.base64OrHexToBytes(body == null ? null : body.getPublicKey());
-        	
-        	//try reconstructing publicKey
-        	Cryptography.valueOf(null, publicKeyBytes);
-        	
-            String addressHex = Hasher.sha3Hex(publicKeyBytes);
-            response.setBody(Map.of("address", addressHex));
-        } catch (NorshException e) {
-            throw e; 
-        } catch (Throwable t) {
-            throw t;
-        }
-    }
+		RequestTimer.begin(request);
+		try (Bulkheads.Permit permit = Bulkheads.getInstance().enter(RouteClass.CRYPTO)) {
+			AddressApiV1GenerateDto body = request.getBody(AddressApiV1GenerateDto.class);
+			String addressHex = address(body == null ? null : body.getPublicKey());
+			Map<String, String> address = Map.of("address", addressHex);
+			response.setBody(address);
+			RequestTimer.finish(request, 200);
+		}
+	}
+
+	/**
+	 * Generates addresses for many public keys at once.
+	 * <p>
+	 * The body is a JSON array of public keys in Base64 or Hexadecimal format. Addresses are derived in parallel chunks
+	 * on a pool sized to the available cores, and returned in request order; a key that cannot be reconstructed yields
+	 * an error entry instead of failing the batch.
+	 * </p>
+	 *
+	 * <h2>Example Response:</h2>
+	 * <pre>
+	 * {
+	 *   "addresses": [
+	 *     { "index": 0, "address": "3a985da74fe225b2..." },
+	 *     { "index": 1, "error": "Invalid public key." }
+	 *   ]
+	 * }
+	 * </pre>
+	 */
+	@Mapping(value="/bulk", method = RestMethod.POST)
+	public void bulk(RestRequest request, RestResponse response) throws Exception {
+		RequestTimer.begin(request);
+		try (Bulkheads.Permit permit = Bulkheads.getInstance().enter(RouteClass.CRYPTO)) {
+			String[] publicKeys = request.getBody(String[].class);
+			if (publicKeys == null) {
+				publicKeys = new String[0];
+			}
+			if (publicKeys.length > MAX_BULK_SIZE) {
+				throw new InvalidRequestException(413, "A bulk request may hold at most " + MAX_BULK_SIZE + " public keys.", null);
+			}
+
+			// Derive in parallel chunks, one per core
+			String[] keys = publicKeys;
+			int chunks = Math.max(1, Math.min(keys.length, Runtime.getRuntime().availableProcessors()));
+			int chunkSize = (keys.length + chunks - 1) / chunks;
+			List<CompletableFuture<List<Map<String, Object>>>> derivations = new ArrayList<>(chunks);
+			for (int from = 0; from < keys.length; from += chunkSize) {
+				int start = from;
+				int end = Math.min(keys.length, from + chunkSize);
+				derivations.add(CompletableFuture.supplyAsync(() -> addresses(keys, start, end), derivers));
+			}
+
+			List<Map<String, Object>> results = new ArrayList<>(keys.length);
+			for (CompletableFuture<List<Map<String, Object>>> derivation : derivations) {
+				results.addAll(derivation.join());
+			}
+
+			Map<String, List<Map<String, Object>>> addresses = Map.of("addresses", results);
+			response.setBody(addresses);
+			RequestTimer.finish(request, 200);
+		}
+	}
+
+	/**
+	 * Returns the addresses of {@code keys[start, end)}, with an error entry for each key that cannot be reconstructed.
+	 */
+	private static List<Map<String, Object>> addresses(String[] keys, int start, int end) {
+		List<Map<String, Object>> results = new ArrayList<>(end - start);
+		for (int i = start; i < end; i++) {
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("index", i);
+			try {
+				result.put("address", address(keys[i]));
+			} catch (InvalidRequestException | NorshException e) {
+				result.put("error", e.getMessage());
+			} catch (RuntimeException e) {
+				result.put("error", "Invalid public key.");
+			}
+			results.add(result);
+		}
+		return results;
+	}
+
+	/**
+	 * Returns the address of a public key, from the cache when it has been derived before.
+	 *
+	 * @param publicKey the public key in Base64 or Hexadecimal format.
+	 * @return the hexadecimal address.
+	 * @throws InvalidRequestException if the public key is missing or cannot be decoded.
+	 */
+	public static String address(String publicKey) {
+		if (publicKey == null || publicKey.isBlank()) {
+			throw new InvalidRequestException("Public key is required.");
+		}
+		byte[] publicKeyBytes = Converter.base64OrHexToBytes(publicKey);
+		if (publicKeyBytes == null || publicKeyBytes.length == 0) {
+			throw new InvalidRequestException("Invalid public key.");
+		}
+
+		ByteBuffer key = ByteBuffer.wrap(publicKeyBytes);
+
+		String address = addresses.get(key);
+		if (address == null) {
+			address = derive(publicKeyBytes);
+			addresses.put(key, address);
+		}
+		return address;
+	}
+
+	/**
+	 * Derives an address without consulting the cache.
+	 */
+	static String derive(byte[] publicKeyBytes) {
+		//try reconstructing publicKey
+		Cryptography.valueOf(null, publicKeyBytes);
+
+		return Hasher.sha3Hex(publicKeyBytes);
+	}
 }
@@ -1,9 +1,16 @@
 package org.norsh.api.v1.crypto;
 
 import java.util.Base64;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
+import org.norsh.api.crypto.KeyPairPool;
+import org.norsh.api.exceptions.InvalidRequestException;
+import org.norsh.api.limits.Bulkheads;
+import org.norsh.api.limits.RouteClass;
+import org.norsh.api.metrics.RequestTimer;
 import org.norsh.api.v1.ApiV1;
 import org.norsh.rest.RestMethod;
 import org.norsh.rest.RestRequest;
@@ -20,8 +27,8 @@ import org.norsh.util.Converter;
  *
  * <h2>Key Features:</h2>
  * <ul>
- * <li>Generates a new ECDSA key pair on each request.</li>
- * <li>Supports multiple formats: Base64, Hexadecimal, and PEM.</li>
+ * <li>Serves a fresh ECDSA key pair on each request from a pool filled ahead of demand.</li>
+ * <li>Supports multiple formats: Base64, Hexadecimal, and PEM, selectable per request.</li>
  * <li>Returns structured responses for easy parsing.</li>
  * </ul>
  *
@@ -36,10 +43,14 @@ import org.norsh.util.Converter;
 @Mapping("/v1/crypto/keys")
 public class KeysApiV1 extends ApiV1 {
 
+	private static final Set<String> FORMATS = Set.of("base64", "hex", "pem");
+
 	/**
 	 * Generates an ECDSA key pair and returns the keys in multiple formats.
 	 * <p>
-	 * The response includes the keys in Base64, Hexadecimal, and PEM formats.
+	 * The key pair is taken from the {@link KeyPairPool}. The optional {@code formats} query parameter selects a
+	 * comma-separated subset of {@code base64}, {@code hex} and {@code pem}; only the requested encodings are computed.
+	 * By default all three are returned.
 	 * </p>
 	 *
 	 * <h2>Example Response:</h2>
@@ -65,28 +76,68 @@ public class KeysApiV1 extends ApiV1 {
 
 	@Mapping(value="/generate", method = RestMethod.GET)
 	public void generate(RestRequest request, RestResponse response) throws Exception {
-		Cryptography cryptography = new Cryptography();
+		RequestTimer.begin(request);
+		try (Bulkheads.Permit permit = Bulkheads.getInstance().enter(RouteClass.CRYPTO)) {
+			Set<String> formats = parseFormats(request.getParameters().get("formats"));
+			if (formats.isEmpty()) {
+				throw new InvalidRequestException("Supported formats are: base64, hex, pem.");
+			}
+
+			Map<String, Map<String, String>> keys = encode(KeyPairPool.getInstance().take(), formats);
+			response.setBody(keys);
+			RequestTimer.finish(request, 200);
+			response.writeResponse();
+		}
+	}
+
+	/**
+	 * Encodes a key pair in the requested formats.
+	 */
+	static Map<String, Map<String, String>> encode(Cryptography cryptography, Set<String> formats) {
 		Map<String, Map<String, String>> result = new LinkedHashMap<>();
 
 		// Add Base64 representation of the keys
-		result.put("base64", Map.of(
-				"private", Base64.getEncoder().encodeToString(cryptography.getPrivateKeyBytes()),
-				"public", Base64.getEncoder().encodeToString(cryptography.getPublicKeyBytes())
-				));
+		if (formats.contains("base64")) {
+			result.put("base64", Map.of(
+					"private", Base64.getEncoder().encodeToString(cryptography.getPrivateKeyBytes()),
+					"public", Base64.getEncoder().encodeToString(cryptography.getPublicKeyBytes())
+					));
+		}
 
 		// Add Hexadecimal representation of the keys
-		result.put("hex", Map.of(
-				"private", Converter.bytesToHex(cryptography.getPrivateKeyBytes()),
-				"public", Converter.bytesToHex(cryptography.getPublicKeyBytes())
-				));
+		if (formats.contains("hex")) {
+			result.put("hex", Map.of(
+					"private", Converter.bytesToHex(cryptography.getPrivateKeyBytes()),
+					"public", Converter.bytesToHex(cryptography.getPublicKeyBytes())
+					));
+		}
 
 		// Add PEM format representation of the keys
-		result.put("pem", Map.of(
-				"private", cryptography.exportPrivateKeyToPEM(),
-				"public", cryptography.exportPublicKeyToPEM()
-				));
+		if (formats.contains("pem")) {
+			result.put("pem", Map.of(
+					"private", cryptography.exportPrivateKeyToPEM(),
+					"public", cryptography.exportPublicKeyToPEM()
+					));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Parses the {@code formats} parameter; returns every format when absent and an empty set when none is recognized.
+	 */
+	static Set<String> parseFormats(String formats) {
+		if (formats == null || formats.isBlank()) {
+			return FORMATS;
+		}
 
-		response.setBody(result);
-		response.writeResponse();
+		Set<String> selected = new HashSet<>();
+		for (String format : formats.split(",")) {
+			String name = format.strip().toLowerCase();
+			if (FORMATS.contains(name)) {
+				selected.add(name);
+			}
+		}
+		return selected;
 	}
 }
@@ -1,5 +1,12 @@
 package org.norsh.api.v1.elements;
 
+import org.norsh.api.cache.CachedResponse;
+import org.norsh.api.cache.ExpiringCache;
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.limits.Bulkheads;
+import org.norsh.api.limits.RouteClass;
+import org.norsh.api.metrics.RequestTimer;
+import org.norsh.api.transport.TransferReply;
 import org.norsh.api.v1.ApiV1;
 import org.norsh.model.dtos.elements.ElementCreateDto;
 import org.norsh.model.dtos.elements.ElementGetDto;
@@ -22,7 +29,12 @@ import org.norsh.rest.annotations.Mapping;
  * <ul>
  * <li>Supports registration of Element Proxies and Coins.</li>
  * <li>Ensures cryptographic integrity through digital signatures.</li>
+ * <li>Rate limits writes per client and per signing public key.</li>
  * <li>Processes metadata updates for existing Elements.</li>
+ * <li>Caches Element lookups, invalidated once an update to the same Element succeeds; lookups racing that update are
+ * not cached.</li>
+ * <li>Serves lookups with strong ETags, answering HTTP 304 to {@code If-None-Match}, and optionally compresses large
+ * bodies ({@code compression.enabled}).</li>
  * </ul>
  *
  * @since 1.0.0
@@ -32,14 +44,47 @@ import org.norsh.rest.annotations.Mapping;
  */
 @Mapping("/v1/elements")
 public class ElementV1 extends ApiV1 {
+	private static final ExpiringCache<String, CachedResponse> elements = new ExpiringCache<>("elements",
+			ApiConfig.getInstance().getInt("cache.elements.maxSize", 50_000),
+			ApiConfig.getInstance().getLong("cache.elements.ttlMs", 30_000), true);
+
+	/**
+	 * Retrieves an Element.
+	 * <p>
+	 * Successful lookups are served from the read-through element cache until they expire or a successful write to the
+	 * same Element invalidates them. The body is serialized once per distinct content: its ETags, and its compressed
+	 * forms when enabled, are shared by every response carrying the same data (see {@link CachedResponse}).
+	 * </p>
+	 */
 	@Mapping(value="/{id}", method = RestMethod.GET)
 	public void get(RestRequest restRequest, RestResponse restResponse) throws Exception {
-		String id = restRequest.getParameters().get("id");
-		
-		ElementGetDto dto = new ElementGetDto(id);
-		dto.validate();
-		
-		processRequest(restRequest, restResponse, dto.getId(), dto);
+		RequestTimer.begin(restRequest);
+		try (Bulkheads.Permit permit = Bulkheads.getInstance().enter(RouteClass.READ)) {
+			String id = restRequest.getParameters().get("id");
+
+			ElementGetDto dto = new ElementGetDto(id);
+			validate(restRequest, dto::validate);
+
+			CachedResponse response = elements.get(dto.getId());
+			if (response == null) {
+				long generation = elements.generation(dto.getId());
+				TransferReply reply = awaitUpstream(restRequest, forward(restRequest, dto.getId(), dto));
+				if (!isSuccessful(reply)) {
+					applyResponse(restResponse, reply);
+					RequestTimer.finish(restRequest, statusOf(reply.transfer()));
+					return;
+				}
+
+				// Skipped if a write invalidated the Element while this lookup was upstream: the reply may predate it
+				response = CachedResponse.of(reply.transfer().getResponseData());
+				elements.put(dto.getId(), response, generation);
+				if (reply.upstreamDuration() != null) {
+					restResponse.addHeader("X-Duration-Blockchain", reply.upstreamDuration());
+				}
+			}
+
+			response.write(restRequest, restResponse);
+		}
 	}
 	
 	/**
@@ -51,12 +96,13 @@ public class ElementV1 extends ApiV1 {
 	
 	@Mapping(value="/proxy", method = RestMethod.POST)
 	public void createProxy(RestRequest restRequest, RestResponse restResponse) throws Exception {
-		ElementCreateDto dto = restRequest.getBody(ElementCreateDto.class);
+		RequestTimer.begin(restRequest);
+		ElementCreateDto dto = readBody(restRequest, ElementCreateDto.class);
 	
 		dto.setType(ElementType.PROXY);
-		dto.validate();
+		validate(restRequest, dto::validate);
 		
-		processRequest(restRequest, restResponse, dto.getHash(), dto);
+		processRequest(restRequest, restResponse, dto.getPublicKey(), dto.getHash(), dto);
 	}
 	
 	/**
@@ -67,43 +113,60 @@ public class ElementV1 extends ApiV1 {
 	 */
 	@Mapping(value="/token", method = RestMethod.POST)
 	public void createToken(RestRequest restRequest, RestResponse restResponse) throws Exception {
-		ElementCreateDto dto = restRequest.getBody(ElementCreateDto.class);
+		RequestTimer.begin(restRequest);
+		ElementCreateDto dto = readBody(restRequest, ElementCreateDto.class);
 	
 		dto.setType(ElementType.TOKEN);
-		dto.validate();
+		validate(restRequest, dto::validate);
 		
-		processRequest(restRequest, restResponse, dto.getHash(), dto);
+		processRequest(restRequest, restResponse, dto.getPublicKey(), dto.getHash(), dto);
 	}
 
 	@Mapping(value="/metadata", method = RestMethod.PUT)
 	public void setMetadata(RestRequest restRequest, RestResponse restResponse) throws Exception {
-		ElementMetadataDto dto = restRequest.getBody(ElementMetadataDto.class);
-		dto.validate();
+		RequestTimer.begin(restRequest);
+		ElementMetadataDto dto = readBody(restRequest, ElementMetadataDto.class);
+		validate(restRequest, dto::validate);
 		
-		processRequest(restRequest, restResponse, dto.getHash(), dto);
+		processRequest(restRequest, restResponse, dto.getPublicKey(), dto.getHash(), dto).thenAccept(reply -> invalidate(dto.getElement(), reply));
 	}
 	
 	@Mapping(value="/network", method = RestMethod.PUT)
 	public void setNetwork(RestRequest restRequest, RestResponse restResponse) throws Exception {
-		ElementNetworkDto dto = restRequest.getBody(ElementNetworkDto.class);
-		dto.validate();
+		RequestTimer.begin(restRequest);
+		ElementNetworkDto dto = readBody(restRequest, ElementNetworkDto.class);
+		validate(restRequest, dto::validate);
 		
-		processRequest(restRequest, restResponse, dto.getHash(), dto);
+		processRequest(restRequest, restResponse, dto.getPublicKey(), dto.getHash(), dto).thenAccept(reply -> invalidate(dto.getElement(), reply));
 	}
 	
 	@Mapping(value="/policy", method = RestMethod.PUT)
 	public void setPolicy(RestRequest restRequest, RestResponse restResponse) throws Exception {
-		ElementPolicyDto dto = restRequest.getBody(ElementPolicyDto.class);
-		dto.validate();
+		RequestTimer.begin(restRequest);
+		ElementPolicyDto dto = readBody(restRequest, ElementPolicyDto.class);
+		validate(restRequest, dto::validate);
 		
-		processRequest(restRequest, restResponse, dto.getHash(), dto);
+		processRequest(restRequest, restResponse, dto.getPublicKey(), dto.getHash(), dto).thenAccept(reply -> invalidate(dto.getElement(), reply));
 	}
 	
 	@Mapping(value="/network", method = RestMethod.DELETE)
 	public void deleteNetwork(RestRequest restRequest, RestResponse restResponse) throws Exception {
-		ElementNetworkDto dto = restRequest.getBody(ElementNetworkDto.class);
-		dto.validate();
+		RequestTimer.begin(restRequest);
+		ElementNetworkDto dto = readBody(restRequest, ElementNetworkDto.class);
+		validate(restRequest, dto::validate);
 		
-		processRequest(restRequest, restResponse, dto.getHash(), dto);
+		processRequest(restRequest, restResponse, dto.getPublicKey(), dto.getHash(), dto).thenAccept(reply -> invalidate(dto.getElement(), reply));
+	}
+
+	/**
+	 * Drops the cached lookup of an Element once a write to it has succeeded. Writes answered with HTTP 202 call this
+	 * when the blockchain answers, which also drops the old Element if a lookup cached it in between.
+	 *
+	 * @param element the id of the Element, as used by {@code GET /v1/elements/{id}}.
+	 */
+	private static void invalidate(String element, TransferReply reply) {
+		if (isSuccessful(reply)) {
+			elements.invalidate(element);
+		}
 	}
 }
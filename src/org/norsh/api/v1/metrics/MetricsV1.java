@@ -0,0 +1,28 @@
+package org.norsh.api.v1.metrics;
+
+import org.norsh.api.metrics.Metrics;
+import org.norsh.rest.RestMethod;
+import org.norsh.rest.RestRequest;
+import org.norsh.rest.RestResponse;
+import org.norsh.rest.annotations.Mapping;
+
+/**
+ * Prometheus scrape endpoint.
+ * <p>
+ * Serves the per-route phase latencies and upstream status counters collected by {@link Metrics} in the Prometheus text
+ * exposition format.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@Mapping("/metrics")
+public class MetricsV1 {
+	@Mapping(value="", method = RestMethod.GET)
+	public void metrics(RestRequest request, RestResponse response) throws Exception {
+		response.addHeader("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+		response.setBody(200, Metrics.getInstance().toPrometheus());
+	}
+}
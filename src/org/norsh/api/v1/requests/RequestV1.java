@@ -0,0 +1,52 @@
+package org.norsh.api.v1.requests;
+
+import org.norsh.api.exceptions.InvalidRequestException;
+import org.norsh.api.limits.Bulkheads;
+import org.norsh.api.limits.RouteClass;
+import org.norsh.api.metrics.RequestTimer;
+import org.norsh.api.requests.RequestStatus;
+import org.norsh.api.requests.RequestStatusStore;
+import org.norsh.rest.RestMethod;
+import org.norsh.rest.RestRequest;
+import org.norsh.rest.RestResponse;
+import org.norsh.rest.annotations.Mapping;
+
+/**
+ * API for polling the outcome of writes accepted with HTTP 202.
+ * <p>
+ * Writes are accepted asynchronously when {@code requests.acceptAsync} is set in {@code api.json} or when the client
+ * sends {@code Prefer: respond-async}. The 202 response carries the request identifier and a {@code Location} header
+ * pointing here.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see RequestStatusStore
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@Mapping("/v1/requests")
+public class RequestV1 {
+	/**
+	 * Returns the status of an accepted request, or HTTP 404 if it is unknown or has expired.
+	 *
+	 * <h2>Example Response:</h2>
+	 * <pre>
+	 * { "requestId": "9f86d0...", "state": "COMPLETED", "status": 200, "data": { ... }, "updatedAt": 1735689600000 }
+	 * </pre>
+	 */
+	@Mapping(value="/{id}", method = RestMethod.GET)
+	public void get(RestRequest request, RestResponse response) throws Exception {
+		RequestTimer.begin(request);
+		try (Bulkheads.Permit permit = Bulkheads.getInstance().enter(RouteClass.READ)) {
+			RequestStatus status = RequestStatusStore.getInstance().get(request.getParameters().get("id"));
+
+			if (status == null) {
+				throw new InvalidRequestException(404, "Unknown or expired request.", null);
+			}
+
+			response.setBody(status);
+			RequestTimer.finish(request, 200);
+		}
+	}
+}
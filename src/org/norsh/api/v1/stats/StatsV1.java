@@ -0,0 +1,116 @@
+package org.norsh.api.v1.stats;
+
+import java.util.List;
+import java.util.Map;
+
+import org.norsh.api.cache.ExpiringCache;
+import org.norsh.api.cache.RawBodies;
+import org.norsh.api.crypto.KeyPairPool;
+import org.norsh.api.limits.Bulkheads;
+import org.norsh.api.limits.RateLimits;
+import org.norsh.api.logging.AsyncLog;
+import org.norsh.api.transport.TransferClient;
+import org.norsh.api.transport.UpstreamBalancer;
+import org.norsh.rest.RestMethod;
+import org.norsh.rest.RestRequest;
+import org.norsh.rest.RestResponse;
+import org.norsh.rest.annotations.Mapping;
+
+/**
+ * API for inspecting the runtime state of the API server.
+ * <p>
+ * Exposes counters of the shared components sitting between the endpoints and the blockchain upstream.
+ * </p>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+@Mapping("/v1/stats")
+public class StatsV1 {
+	/**
+	 * Returns the connection pool and traffic counters of every upstream client.
+	 */
+	@Mapping(value="/transfer", method = RestMethod.GET)
+	public void transfer(RestRequest request, RestResponse response) throws Exception {
+		List<Map<String, Object>> stats = TransferClient.getClients().values().stream().map(TransferClient::getStats).toList();
+		response.setBody(Map.of("clients", stats));
+	}
+
+	/**
+	 * Returns the concurrency limit and circuit breaker state of every upstream.
+	 */
+	@Mapping(value="/limits", method = RestMethod.GET)
+	public void limits(RestRequest request, RestResponse response) throws Exception {
+		List<Map<String, Object>> stats = TransferClient.getClients().values().stream()
+				.map(client -> Map.<String, Object>of("uri", client.getUri().toString(), "concurrency", client.getLimiter().getStats(), "breaker", client.getBreaker().getStats()))
+				.toList();
+		response.setBody(Map.of("upstreams", stats));
+	}
+
+	/**
+	 * Returns the health, load and routing counters of every blockchain node.
+	 */
+	@Mapping(value="/upstreams", method = RestMethod.GET)
+	public void upstreams(RestRequest request, RestResponse response) throws Exception {
+		response.setBody(Map.of("nodes", UpstreamBalancer.getInstance().getStats()));
+	}
+
+	/**
+	 * Returns the fill level of the key pair pool.
+	 */
+	@Mapping(value="/keys", method = RestMethod.GET)
+	public void keys(RestRequest request, RestResponse response) throws Exception {
+		response.setBody(KeyPairPool.getInstance().getStats());
+	}
+
+	/**
+	 * Returns hit, miss and eviction counters of the in-process caches.
+	 */
+	@Mapping(value="/cache", method = RestMethod.GET)
+	public void cache(RestRequest request, RestResponse response) throws Exception {
+		List<Map<String, Object>> stats = ExpiringCache.getCaches().values().stream().map(ExpiringCache::getStats).toList();
+		response.setBody(Map.of("caches", stats));
+	}
+
+	/**
+	 * Returns the fill level and drop counters of the asynchronous log.
+	 */
+	@Mapping(value="/log", method = RestMethod.GET)
+	public void log(RestRequest request, RestResponse response) throws Exception {
+		response.setBody(AsyncLog.getInstance().getStats());
+	}
+
+	/**
+	 * Returns the running, queued and rejected requests of every route class bulkhead.
+	 */
+	@Mapping(value="/bulkheads", method = RestMethod.GET)
+	public void bulkheads(RestRequest request, RestResponse response) throws Exception {
+		response.setBody(Bulkheads.getInstance().getStats());
+	}
+
+	/**
+	 * Returns the allowed, rejected and evicted counters of the client and sender rate limiters.
+	 */
+	@Mapping(value="/rateLimits", method = RestMethod.GET)
+	public void rateLimits(RestRequest request, RestResponse response) throws Exception {
+		response.setBody(Map.of("limiters", RateLimits.getInstance().getStats()));
+	}
+
+	/**
+	 * Answers a fixed JSON document as a {@code byte[]}, for the startup {@link RawBodies} probe.
+	 */
+	@Mapping(value="/probe/raw", method = RestMethod.GET)
+	public void probeRaw(RestRequest request, RestResponse response) throws Exception {
+		response.setBody(200, RawBodies.probeBody());
+	}
+
+	/**
+	 * Answers HTTP 304 without a body, for the startup {@link RawBodies} probe.
+	 */
+	@Mapping(value="/probe/notModified", method = RestMethod.GET)
+	public void probeNotModified(RestRequest request, RestResponse response) throws Exception {
+		response.setBody(304, null);
+	}
+}
@@ -1,19 +1,176 @@
 package org.norsh.api.v1.transactions;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.norsh.api.config.ApiConfig;
+import org.norsh.api.exceptions.InvalidRequestException;
+import org.norsh.api.exceptions.RejectedRequestException;
+import org.norsh.api.exceptions.TooManyRequestsException;
+import org.norsh.api.limits.Bulkheads;
+import org.norsh.api.limits.RateLimits;
+import org.norsh.api.limits.RouteClass;
+import org.norsh.api.metrics.Phase;
+import org.norsh.api.metrics.RequestTimer;
+import org.norsh.api.transport.Futures;
+import org.norsh.api.transport.TransferReply;
 import org.norsh.api.v1.ApiV1;
+import org.norsh.exceptions.NorshException;
 import org.norsh.model.dtos.transactions.PaymentCreateDto;
 import org.norsh.rest.RestMethod;
 import org.norsh.rest.RestRequest;
 import org.norsh.rest.RestResponse;
 import org.norsh.rest.annotations.Mapping;
 
+/**
+ * API for submitting payments.
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ * <li>Single payment submission.</li>
+ * <li>Bulk submission with parallel validation and batched forwarding.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
 @Mapping("/v1/payments")
 public class PaymentV1 extends ApiV1 {
+	private static final int MAX_BATCH_SIZE = ApiConfig.getInstance().getInt("payments.batch.maxSize", 50_000);
+	private static final ExecutorService validators = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+			Thread.ofPlatform().name("payment-validator-", 0).daemon().factory());
+
 	@Mapping(value="/generate", method = RestMethod.POST)
 	public void generate(RestRequest request, RestResponse response) throws Exception {
-		PaymentCreateDto dto = request.getBody(PaymentCreateDto.class);
-		dto.validate();
+		RequestTimer.begin(request);
+		PaymentCreateDto dto = readBody(request, PaymentCreateDto.class);
+		validate(request, dto::validate);
 		
-		processRequest(request, response, dto.getHash(), dto);
+		processRequest(request, response, dto.getPublicKey(), dto.getHash(), dto);
+	}
+
+	/**
+	 * Submits many payments in one request.
+	 * <p>
+	 * The body is a JSON array of payments, parsed like the body of {@code POST /v1/payments/generate}; a {@code null}
+	 * entry is answered with status 400 without failing the others. Payments are validated in parallel on a pool sized
+	 * to the available cores; valid ones are forwarded through the transfer batcher, unless their sender
+	 * is over its rate limit (status 429). The response lists one result per submitted payment, in submission order.
+	 * </p>
+	 *
+	 * <h2>Example Response:</h2>
+	 * <pre>
+	 * {
+	 *   "results": [
+	 *     { "index": 0, "hash": "9f86d0...", "status": 200, "data": { ... } },
+	 *     { "index": 1, "status": 400, "message": "Invalid signature." }
+	 *   ]
+	 * }
+	 * </pre>
+	 */
+	@Mapping(value="/batch", method = RestMethod.POST)
+	public void batch(RestRequest request, RestResponse response) throws Exception {
+		RequestTimer.begin(request);
+		RateLimits.getInstance().checkClient(request);
+		try (Bulkheads.Permit permit = Bulkheads.getInstance().enter(RouteClass.WRITE)) {
+			PaymentCreateDto[] payments = readBody(request, PaymentCreateDto[].class);
+			if (payments.length > MAX_BATCH_SIZE) {
+				throw new InvalidRequestException(413, "A batch may hold at most " + MAX_BATCH_SIZE + " payments.", null);
+			}
+			List<Object> items = new ArrayList<>(payments.length);
+			for (PaymentCreateDto payment : payments) {
+				items.add(payment != null ? payment : "Payment entry is empty.");
+			}
+
+			// Validate in parallel chunks, one per core
+			long validationStart = System.nanoTime();
+			int chunks = Math.max(1, Math.min(items.size(), Runtime.getRuntime().availableProcessors()));
+			int chunkSize = (items.size() + chunks - 1) / chunks;
+			List<CompletableFuture<Void>> validations = new ArrayList<>(chunks);
+			for (int from = 0; from < items.size(); from += chunkSize) {
+				int start = from;
+				int end = Math.min(items.size(), from + chunkSize);
+				validations.add(CompletableFuture.runAsync(() -> validate(items, start, end), validators));
+			}
+			await(CompletableFuture.allOf(validations.toArray(CompletableFuture[]::new)));
+			RequestTimer.record(request, Phase.VALIDATE, validationStart);
+
+			// Forward the valid payments; the batcher packs them into bulk upstream calls
+			List<CompletableFuture<Map<String, Object>>> results = new ArrayList<>(items.size());
+			for (int i = 0; i < items.size(); i++) {
+				Object item = items.get(i);
+				if (item instanceof PaymentCreateDto dto) {
+					try {
+						RateLimits.getInstance().checkSender(dto.getPublicKey());
+					} catch (TooManyRequestsException e) {
+						results.add(CompletableFuture.completedFuture(error(i, e.getStatus(), e.getMessage())));
+						continue;
+					}
+					int index = i;
+					results.add(forwardBulk(request, dto.getHash(), dto).handle((reply, failure) -> result(index, dto.getHash(), reply, failure)));
+				} else {
+					results.add(CompletableFuture.completedFuture(error(i, 400, (String) item)));
+				}
+			}
+
+			List<Map<String, Object>> body = new ArrayList<>(results.size());
+			for (CompletableFuture<Map<String, Object>> result : results) {
+				body.add(awaitUpstream(request, result));
+			}
+
+			Map<String, List<Map<String, Object>>> answer = Map.of("results", body);
+			response.setBody(answer);
+			RequestTimer.finish(request, 200);
+		}
+	}
+
+	/**
+	 * Validates {@code items[start, end)} in place, replacing invalid payments by their error message.
+	 */
+	private static void validate(List<Object> items, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (items.get(i) instanceof PaymentCreateDto dto) {
+				try {
+					dto.validate();
+				} catch (NorshException e) {
+					items.set(i, e.getMessage());
+				} catch (RuntimeException e) {
+					items.set(i, "Invalid payment.");
+				}
+			}
+		}
+	}
+
+	private static Map<String, Object> result(int index, String hash, TransferReply reply, Throwable failure) {
+		if (failure != null) {
+			Throwable cause = Futures.unwrap(failure);
+			int status = cause instanceof RejectedRequestException rejected ? rejected.getStatus() : 502;
+			Map<String, Object> error = error(index, status, cause.getMessage() != null ? cause.getMessage() : "The payment could not be forwarded.");
+			error.put("hash", hash);
+			return error;
+		}
+
+		int status = statusOf(reply.transfer());
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("index", index);
+		result.put("hash", hash);
+		result.put("status", status);
+		result.put("data", status == 200 ? reply.transfer().getResponseData() : reply.transfer().toResponse());
+		return result;
+	}
+
+	private static Map<String, Object> error(int index, int status, String message) {
+		Map<String, Object> error = new LinkedHashMap<>();
+		error.put("index", index);
+		error.put("status", status);
+		error.put("message", message);
+		return error;
 	}
 }
@@ -0,0 +1,85 @@
+package org.norsh.api.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link LogRing} with concurrent producers and a single consumer.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+class LogRingTest {
+	private static final int PRODUCERS = 4;
+	private static final int PER_PRODUCER = 20_000;
+
+	@Test
+	void deliversEveryEntryOnceAndInOrderPerProducer() throws Exception {
+		LogRing ring = new LogRing(64);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> producers = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			int producer = p;
+			producers.add(Thread.ofPlatform().start(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < PER_PRODUCER; i++) {
+					long position;
+					while ((position = ring.claim()) < 0) {
+						Thread.yield();
+					}
+					LogEntry entry = ring.entry(position);
+					entry.status = producer;
+					entry.durationNanos = i;
+					ring.publish(position);
+				}
+			}));
+		}
+
+		long[] next = new long[PRODUCERS];
+		start.countDown();
+		for (int received = 0; received < PRODUCERS * PER_PRODUCER; received++) {
+			long position;
+			while ((position = ring.poll()) < 0) {
+				Thread.yield();
+			}
+			LogEntry entry = ring.entry(position);
+			assertEquals(next[entry.status]++, entry.durationNanos, "producer " + entry.status);
+			ring.release(position);
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+
+		for (long count : next) {
+			assertEquals(PER_PRODUCER, count);
+		}
+		assertTrue(ring.isEmpty());
+		assertEquals(-1, ring.poll());
+	}
+
+	@Test
+	void refusesClaimsWhenFull() {
+		LogRing ring = new LogRing(4);
+		for (int i = 0; i < ring.capacity(); i++) {
+			ring.publish(ring.claim());
+		}
+		assertEquals(-1, ring.claim());
+
+		ring.release(ring.poll());
+		long position = ring.claim();
+		assertEquals(ring.capacity(), position);
+		assertEquals(ring.capacity(), ring.size());
+	}
+}
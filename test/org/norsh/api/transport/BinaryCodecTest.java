@@ -0,0 +1,163 @@
+package org.norsh.api.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.norsh.util.Converter;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests that {@link BinaryCodec} documents round-trip to exactly the JSON they were encoded from.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+class BinaryCodecTest {
+	/**
+	 * Payload shaped like the DTOs carried by a transfer.
+	 */
+	static final class Payload {
+		String hash;
+		String signature;
+		long amount;
+		Double fee;
+		String memo;
+		List<String> tags;
+	}
+
+	private static String roundTrip(String json) {
+		return BinaryCodec.decodeTree(BinaryCodec.encode(JsonParser.parseString(json))).toString();
+	}
+
+	private static void assertRoundTrip(String json) {
+		assertEquals(JsonParser.parseString(json).toString(), roundTrip(json));
+	}
+
+	private static int sizeOf(String json) {
+		return BinaryCodec.encode(JsonParser.parseString(json)).length;
+	}
+
+	/**
+	 * Size of a string of the same length that is always written as text.
+	 */
+	private static int textSizeOf(String json) {
+		return sizeOf("\"" + "!".repeat(json.length() - 2) + "\"");
+	}
+
+	@Test
+	void packsLowercaseHex() {
+		String hex = "\"9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08\"";
+		assertRoundTrip(hex);
+		assertEquals(textSizeOf(hex) - 32, sizeOf(hex), "64 hex digits should pack into 32 bytes");
+	}
+
+	@Test
+	void keepsHexThatWouldNotRoundTrip() {
+		// Uppercase, odd length and short strings stay text
+		assertRoundTrip("\"9F86D081884C7D659A2FEAA0C55AD015\"");
+		assertRoundTrip("\"9f86d081884c7d659a2feaa0c55ad01\"");
+		assertRoundTrip("\"9f86d081884c7d6\"");
+		assertRoundTrip("\"0000000000000000\"");
+	}
+
+	@Test
+	void packsCanonicalBase64() {
+		for (int length = 12; length <= 15; length++) {
+			byte[] raw = new byte[length];
+			Arrays.fill(raw, (byte) (0xF0 + length));
+			String json = "\"" + Base64.getEncoder().encodeToString(raw) + "\"";
+			assertRoundTrip(json);
+			assertTrue(sizeOf(json) < textSizeOf(json), json);
+		}
+	}
+
+	@Test
+	void keepsNonCanonicalBase64() {
+		// Non-zero unused bits before the padding, misplaced padding, and strings that merely look like base64
+		assertRoundTrip("\"AAAAAAAAAAAAAAAAAAAAAB==\"");
+		assertRoundTrip("\"AAAAAAAAAAAAAA=AAAAAAA==\"");
+		assertRoundTrip("\"ThisIsPlainTextNotBase64\"");
+		assertRoundTrip("\"AAAAAAAAAAAAAAAAAAAAAA=\"");
+	}
+
+	@Test
+	void referencesRepeatedNames() {
+		String one = "[{\"publicKey\":\"a\",\"amount\":1}]";
+		String three = "[{\"publicKey\":\"a\",\"amount\":1},{\"publicKey\":\"b\",\"amount\":2},{\"publicKey\":\"c\",\"amount\":3}]";
+		assertRoundTrip(three);
+		// Later objects only add a reference per name, not the name again
+		assertTrue(sizeOf(three) - sizeOf(one) < 2 * ("publicKey".length() + "amount".length()));
+
+		assertRoundTrip("{\"a\":{\"a\":{\"a\":[{\"b\":1},{\"a\":2,\"b\":3}]}}}");
+	}
+
+	@Test
+	void keepsNumbersExact() {
+		assertRoundTrip("[0,1,-1,127,128,-129,9223372036854775807,-9223372036854775808]");
+		assertRoundTrip("[2.5,-0.0,1e300,1E-7,0.1,100.00,-0]");
+		assertRoundTrip("[9223372036854775808,-9223372036854775809,123456789012345678901234567890]");
+		assertRoundTrip("[007,1.0,10e2]");
+	}
+
+	@Test
+	void keepsNulls() {
+		assertRoundTrip("null");
+		assertRoundTrip("[null,1,null]");
+		assertRoundTrip("{\"a\":null,\"b\":{\"c\":null},\"d\":[]}");
+	}
+
+	@Test
+	void keepsOtherStrings() {
+		assertRoundTrip("\"\"");
+		assertRoundTrip("\"héllo 😀 \\\"quoted\\\" \\n\"");
+		assertRoundTrip("[true,false,\"true\"]");
+	}
+
+	@Test
+	void decodesObjectsAsConverterDoes() {
+		Payload payload = new Payload();
+		payload.hash = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+		payload.signature = Base64.getEncoder().encodeToString("signature bytes!".getBytes(StandardCharsets.UTF_8));
+		payload.amount = -42;
+		payload.fee = 0.25;
+		payload.tags = List.of("a", "b");
+
+		byte[] encoded = BinaryCodec.encode(payload);
+		assertEquals(JsonParser.parseString(Converter.toJson(payload)), BinaryCodec.decodeTree(encoded));
+
+		Payload decoded = BinaryCodec.decode(encoded, Payload.class);
+		assertEquals(payload.hash, decoded.hash);
+		assertEquals(payload.signature, decoded.signature);
+		assertEquals(payload.amount, decoded.amount);
+		assertEquals(payload.fee, decoded.fee);
+		assertNull(decoded.memo);
+		assertEquals(payload.tags, decoded.tags);
+	}
+
+	@Test
+	void rejectsInvalidDocuments() {
+		byte[] valid = BinaryCodec.encode(JsonParser.parseString("{\"a\":[1,2,3]}"));
+		assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decodeTree(new byte[0]));
+		assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decodeTree("{}".getBytes(StandardCharsets.UTF_8)));
+		assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decodeTree(Arrays.copyOf(valid, valid.length - 1)));
+		assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decodeTree(Arrays.copyOf(valid, valid.length + 1)));
+	}
+
+	@Test
+	void encodesTreesAndObjectsAlike() {
+		JsonElement tree = JsonParser.parseString("{\"requestId\":\"abc\",\"status\":\"SUCCESS\"}");
+		assertEquals(Arrays.toString(BinaryCodec.encode(tree)), Arrays.toString(BinaryCodec.encode((Object) Converter.fromJson(tree.toString(), java.util.Map.class))));
+	}
+}
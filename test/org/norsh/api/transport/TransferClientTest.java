@@ -0,0 +1,54 @@
+package org.norsh.api.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.norsh.api.exceptions.GatewayTimeoutException;
+import org.norsh.api.limits.CircuitBreaker;
+
+/**
+ * Tests how {@link TransferClient#guarded} reports call outcomes to the circuit breaker and the concurrency limit.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+class TransferClientTest {
+	private static int limit(TransferClient client) {
+		return (int) client.getLimiter().getStats().get("limit");
+	}
+
+	private static void fail(TransferClient client, Throwable failure, int times) {
+		for (int i = 0; i < times; i++) {
+			client.guarded(() -> CompletableFuture.<Boolean>failedFuture(failure), answered -> answered);
+		}
+	}
+
+	@Test
+	void countsUpstreamTimeoutsAsFailures() {
+		TransferClient client = TransferClient.of(URI.create("http://127.0.0.1:1/timeouts"));
+		int limit = limit(client);
+
+		fail(client, GatewayTimeoutException.UPSTREAM_TIMEOUT, 100);
+		assertTrue(limit(client) < limit, "timeouts should shrink the limit");
+		assertEquals(CircuitBreaker.State.OPEN, client.getBreaker().getState());
+		assertEquals(0, client.getLimiter().getStats().get("inFlight"));
+	}
+
+	@Test
+	void leavesAbandonedCallsOutOfTheHealth() {
+		TransferClient client = TransferClient.of(URI.create("http://127.0.0.1:1/abandons"));
+		int limit = limit(client);
+
+		fail(client, new CancellationException(), 100);
+		assertEquals(limit, limit(client));
+		assertEquals(CircuitBreaker.State.CLOSED, client.getBreaker().getState());
+		assertEquals(0, client.getLimiter().getStats().get("inFlight"));
+	}
+}
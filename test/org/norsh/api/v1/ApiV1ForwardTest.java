@@ -0,0 +1,164 @@
+package org.norsh.api.v1;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.norsh.api.exceptions.GatewayTimeoutException;
+import org.norsh.api.limits.Deadline;
+import org.norsh.api.metrics.Metrics;
+import org.norsh.api.metrics.RouteMetrics;
+import org.norsh.api.transport.TransferReply;
+import org.norsh.api.transport.Transport;
+import org.norsh.model.transport.DataTransfer;
+import org.norsh.rest.RestMethod;
+import org.norsh.util.Converter;
+
+/**
+ * Tests the coalescing, idempotency cache and cancellation of {@link ApiV1#forward(RestMethod, String, Object)}.
+ *
+ * @since 1.0.0
+ * @version 1.0.0
+ * @author Danthur Lice
+ * @see <a href="https://docs.norsh.org">Norsh Documentation</a>
+ */
+class ApiV1ForwardTest {
+	/**
+	 * Transport answering every send with a future the test completes, or failing synchronously when told to.
+	 */
+	private static final class FakeTransport implements Transport {
+		private final List<CompletableFuture<TransferReply>> sends = new CopyOnWriteArrayList<>();
+		private volatile RuntimeException failure;
+
+		@Override
+		public CompletableFuture<TransferReply> send(DataTransfer transfer, boolean bulk, RouteMetrics metrics, Deadline deadline) {
+			if (failure != null) {
+				throw failure;
+			}
+			CompletableFuture<TransferReply> upstream = new CompletableFuture<>();
+			sends.add(upstream);
+			return upstream;
+		}
+	}
+
+	private final FakeTransport transport = new FakeTransport();
+	private final ApiV1 api = new ApiV1(transport) {
+	};
+
+	private static String newId() {
+		return UUID.randomUUID().toString();
+	}
+
+	private static TransferReply reply(String requestId, String status) {
+		return new TransferReply(Converter.fromJson("{\"requestId\":\"" + requestId + "\",\"status\":\"" + status + "\"}", DataTransfer.class), null);
+	}
+
+	private static long counter(String name) {
+		for (String line : Metrics.getInstance().toPrometheus().split("\n")) {
+			if (line.startsWith(name + " ")) {
+				return Long.parseLong(line.substring(name.length() + 1));
+			}
+		}
+		throw new AssertionError("Missing metric " + name);
+	}
+
+	@Test
+	void coalescesConcurrentDuplicates() throws Exception {
+		String id = newId();
+		CompletableFuture<TransferReply> first = api.forward(RestMethod.GET, id, "payload");
+		CompletableFuture<TransferReply> second = api.forward(RestMethod.GET, id, "payload");
+		assertEquals(1, transport.sends.size());
+
+		TransferReply answer = reply(id, "SUCCESS");
+		transport.sends.getFirst().complete(answer);
+		assertSame(answer, first.get(1, TimeUnit.SECONDS));
+		assertSame(answer, second.get(1, TimeUnit.SECONDS));
+
+		// Reads are not cached: once answered, the next one goes upstream again
+		api.forward(RestMethod.GET, id, "payload");
+		assertEquals(2, transport.sends.size());
+	}
+
+	@Test
+	void answersSettledWritesFromTheIdempotencyCache() throws Exception {
+		String id = newId();
+		CompletableFuture<TransferReply> first = api.forward(RestMethod.POST, id, "payload");
+		TransferReply answer = reply(id, "SUCCESS");
+		transport.sends.getFirst().complete(answer);
+		assertSame(answer, first.get(1, TimeUnit.SECONDS));
+
+		CompletableFuture<TransferReply> retry = api.forward(RestMethod.POST, id, "payload");
+		assertTrue(retry.isDone());
+		assertSame(answer, retry.get());
+		assertEquals(1, transport.sends.size());
+	}
+
+	@Test
+	void doesNotCacheFailedWrites() throws Exception {
+		String id = newId();
+		CompletableFuture<TransferReply> first = api.forward(RestMethod.POST, id, "payload");
+		transport.sends.getFirst().complete(reply(id, "ERROR"));
+		first.get(1, TimeUnit.SECONDS);
+
+		api.forward(RestMethod.POST, id, "payload");
+		assertEquals(2, transport.sends.size());
+	}
+
+	@Test
+	void cancelsTheUpstreamCallOnceEveryWaiterLeaves() {
+		String id = newId();
+		CompletableFuture<TransferReply> first = api.forward(RestMethod.GET, id, "payload");
+		CompletableFuture<TransferReply> second = api.forward(RestMethod.GET, id, "payload");
+		CompletableFuture<TransferReply> upstream = transport.sends.getFirst();
+
+		first.cancel(true);
+		assertFalse(upstream.isCancelled());
+		assertFalse(second.isDone());
+
+		second.cancel(true);
+		assertTrue(upstream.isCancelled());
+
+		// The abandoned call is not joined by later requests
+		api.forward(RestMethod.GET, id, "payload");
+		assertEquals(2, transport.sends.size());
+	}
+
+	@Test
+	void releasesTheFlightWhenTheTransportThrows() {
+		String id = newId();
+		IllegalStateException failure = new IllegalStateException("Cannot serialize the payload.");
+		transport.failure = failure;
+
+		CompletableFuture<TransferReply> view = api.forward(RestMethod.POST, id, "payload");
+		ExecutionException thrown = assertThrows(ExecutionException.class, () -> view.get(1, TimeUnit.SECONDS));
+		assertSame(failure, thrown.getCause());
+
+		transport.failure = null;
+		api.forward(RestMethod.POST, id, "payload");
+		assertEquals(1, transport.sends.size());
+	}
+
+	@Test
+	void countsUpstreamTimeoutsAsFailures() {
+		long failures = counter("norsh_api_upstream_failures_total");
+		long abandoned = counter("norsh_api_upstream_abandoned_total");
+
+		CompletableFuture<TransferReply> view = api.forward(RestMethod.GET, newId(), "payload");
+		transport.sends.getFirst().completeExceptionally(GatewayTimeoutException.UPSTREAM_TIMEOUT);
+		ExecutionException thrown = assertThrows(ExecutionException.class, () -> view.get(1, TimeUnit.SECONDS));
+		assertSame(GatewayTimeoutException.UPSTREAM_TIMEOUT, thrown.getCause());
+
+		assertEquals(failures + 1, counter("norsh_api_upstream_failures_total"));
+		assertEquals(abandoned, counter("norsh_api_upstream_abandoned_total"));
+	}
+}